@@ -0,0 +1,61 @@
+#!/usr/bin/env bash
+# Mide el tiempo de arranque y la memoria residente (RSS) del servidor de incidencias.
+#
+# Arranca la aplicación RUNS veces con los argumentos de la JVM indicados, espera a la línea
+# "Started ReaktorIssuesServerApp in X seconds" del log, lee VmRSS de /proc y la detiene.
+# Escribe la media de las ejecuciones. Necesita Linux y la base de datos de application.yaml.
+#
+# Uso:
+#   scripts/measure-startup.sh <etiqueta> <argumentos de java...>
+#
+# Ejemplos (ver "Arranque" en el README):
+#   scripts/measure-startup.sh antes -jar target/ReaktorIssuesServer-1.0.0.jar
+#   scripts/measure-startup.sh despues -XX:SharedArchiveFile=target/extracted/app.jsa -Dspring.aot.enabled=true \
+#       -Dspring.profiles.active=prod,startup -jar target/extracted/ReaktorIssuesServer-1.0.0.jar
+
+set -euo pipefail
+
+if [ "$#" -lt 2 ]; then
+	sed -n '2,14p' "$0"
+	exit 1
+fi
+
+label="$1"
+shift
+runs="${RUNS:-5}"
+log="$(mktemp)"
+trap 'rm -f "$log"' EXIT
+
+total_seconds=0
+total_rss_kb=0
+
+for run in $(seq 1 "$runs"); do
+	java "$@" > "$log" 2>&1 &
+	pid=$!
+
+	# Esperar a que arranque (máximo 120 s)
+	for _ in $(seq 1 1200); do
+		if grep -q "Started ReaktorIssuesServerApp in" "$log" || ! kill -0 "$pid" 2>/dev/null; then
+			break
+		fi
+		sleep 0.1
+	done
+
+	seconds="$(grep -o "Started ReaktorIssuesServerApp in [0-9.]*" "$log" | grep -o "[0-9.]*$" || true)"
+	if [ -z "$seconds" ]; then
+		echo "La aplicación no ha arrancado; últimas líneas del log:" >&2
+		tail -n 20 "$log" >&2
+		kill "$pid" 2>/dev/null || true
+		exit 1
+	fi
+	rss_kb="$(awk '/VmRSS/ { print $2 }' "/proc/$pid/status")"
+
+	kill "$pid"
+	wait "$pid" 2>/dev/null || true
+
+	echo "$label #$run: ${seconds} s, $((rss_kb / 1024)) MB RSS"
+	total_seconds="$(echo "$total_seconds + $seconds" | bc)"
+	total_rss_kb=$((total_rss_kb + rss_kb))
+done
+
+echo "$label (media de $runs): $(echo "scale=2; $total_seconds / $runs" | bc) s, $((total_rss_kb / runs / 1024)) MB RSS"
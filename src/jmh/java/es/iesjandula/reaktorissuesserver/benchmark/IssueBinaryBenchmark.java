@@ -0,0 +1,108 @@
+package es.iesjandula.reaktorissuesserver.benchmark;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import es.iesjandula.reaktorissuesserver.config.BinaryFormatConfiguration;
+import es.iesjandula.reaktorissuesserver.models.IssueEntity;
+import es.iesjandula.reaktorissuesserver.utils.Constansts;
+
+/**
+ * Class: IssueBinaryBenchmark
+ * Benchmark de la serialización de una página de incidencias (como la de /incidencias/filtrar) en JSON,
+ * CBOR y Smile, con los mismos ObjectMapper que los conversores de la aplicación.
+ *
+ * Los tiempos son por incidencia (OperationsPerInvocation). Los bytes por incidencia de cada formato
+ * se escriben en la salida al preparar el benchmark.
+ *
+ * @version 1.0.0
+ *
+ *
+ * @author PabloDev09
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IssueBinaryBenchmark
+{
+	// Incidencias por página
+	private static final int PAGE_SIZE = 100;
+
+	// Formato a medir
+	@Param({"json", "cbor", "smile"})
+	private String format;
+
+	private ObjectMapper objectMapper;
+	private JavaType pageType;
+
+	private List<IssueEntity> page;
+
+	// Página codificada para el benchmark de lectura
+	private byte[] encoded;
+
+	@Setup
+	public void setUp() throws IOException
+	{
+		this.objectMapper = switch (this.format)
+		{
+			case "cbor" -> BinaryFormatConfiguration.binaryObjectMapper(new Jackson2ObjectMapperBuilder(), new CBORFactory());
+			case "smile" -> BinaryFormatConfiguration.binaryObjectMapper(new Jackson2ObjectMapperBuilder(), new SmileFactory());
+			default -> new Jackson2ObjectMapperBuilder().build();
+		};
+		this.pageType = this.objectMapper.getTypeFactory().constructCollectionType(List.class, IssueEntity.class);
+
+		String[] statuses = {Constansts.STATUS_TO_DO, Constansts.STATUS_IN_PROCESS, Constansts.STATUS_FINISHED, Constansts.STATUS_CANCELED};
+		LocalDateTime date = LocalDateTime.of(2024, 10, 1, 9, 30);
+
+		this.page = new ArrayList<>(PAGE_SIZE);
+		for (int i = 0; i < PAGE_SIZE; i++)
+		{
+			String status = statuses[i % statuses.length];
+			this.page.add(new IssueEntity((long) i, "0." + (i % 20), "profesor" + (i % 30) + "@iesjandula.es", date.plusMinutes(i),
+					"El proyector del aula no enciende " + i, status,
+					Constansts.STATUS_FINISHED.equals(status) ? date.plusDays(1) : null, i % 5));
+		}
+
+		this.encoded = this.objectMapper.writeValueAsBytes(this.page);
+		System.out.printf("%n%s: %d bytes por incidencia%n", this.format, this.encoded.length / PAGE_SIZE);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(PAGE_SIZE)
+	public byte[] writePage() throws IOException
+	{
+		return objectMapper.writeValueAsBytes(page);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(PAGE_SIZE)
+	public List<IssueEntity> readPage() throws IOException
+	{
+		return objectMapper.readValue(encoded, pageType);
+	}
+}
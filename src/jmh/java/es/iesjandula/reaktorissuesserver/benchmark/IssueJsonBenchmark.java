@@ -0,0 +1,106 @@
+package es.iesjandula.reaktorissuesserver.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import es.iesjandula.reaktorissuesserver.dto.IssueEntityDto;
+import es.iesjandula.reaktorissuesserver.models.IdIssue;
+import es.iesjandula.reaktorissuesserver.models.IssueEntity;
+import es.iesjandula.reaktorissuesserver.utils.Constansts;
+
+/**
+ * Class: IssueJsonBenchmark
+ * Benchmark de la serialización y deserialización JSON de IssueEntity, IssueEntityDto e IdIssue
+ * con un ObjectMapper configurado como el de Spring Boot.
+ *
+ * @version 1.0.0
+ *
+ *
+ * @author PabloDev09
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IssueJsonBenchmark
+{
+	// Mismo ObjectMapper que usan los controladores
+	private final ObjectMapper objectMapper = new Jackson2ObjectMapperBuilder().build();
+
+	private IssueEntity issue;
+	private IssueEntityDto issueDto;
+	private IdIssue idIssue;
+
+	// JSON de cada clase para los benchmarks de lectura
+	private String issueJson;
+	private String issueDtoJson;
+	private String idIssueJson;
+
+	@Setup
+	public void setUp() throws JsonProcessingException
+	{
+		LocalDateTime date = LocalDateTime.of(2024, 10, 1, 9, 30);
+
+		this.issue = new IssueEntity(1L, "0.5", "profesor@iesjandula.es", date, "El proyector no enciende",
+				Constansts.STATUS_TO_DO, null, 0L);
+		this.issueDto = new IssueEntityDto("0.5", "profesor@iesjandula.es", date, "El proyector no enciende", Constansts.STATUS_TO_DO);
+		this.idIssue = new IdIssue("0.5", "profesor@iesjandula.es", date);
+
+		this.issueJson = this.objectMapper.writeValueAsString(this.issue);
+		this.issueDtoJson = this.objectMapper.writeValueAsString(this.issueDto);
+		this.idIssueJson = this.objectMapper.writeValueAsString(this.idIssue);
+	}
+
+	@Benchmark
+	public String writeIssue() throws JsonProcessingException
+	{
+		return objectMapper.writeValueAsString(issue);
+	}
+
+	@Benchmark
+	public IssueEntity readIssue() throws JsonProcessingException
+	{
+		return objectMapper.readValue(issueJson, IssueEntity.class);
+	}
+
+	@Benchmark
+	public String writeIssueDto() throws JsonProcessingException
+	{
+		return objectMapper.writeValueAsString(issueDto);
+	}
+
+	@Benchmark
+	public IssueEntityDto readIssueDto() throws JsonProcessingException
+	{
+		return objectMapper.readValue(issueDtoJson, IssueEntityDto.class);
+	}
+
+	@Benchmark
+	public String writeIdIssue() throws JsonProcessingException
+	{
+		return objectMapper.writeValueAsString(idIssue);
+	}
+
+	@Benchmark
+	public IdIssue readIdIssue() throws JsonProcessingException
+	{
+		return objectMapper.readValue(idIssueJson, IdIssue.class);
+	}
+}
@@ -0,0 +1,118 @@
+package es.iesjandula.reaktorissuesserver.benchmark;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.JsonEncoder;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.encoder.Encoder;
+
+/**
+ * Class: IssueLoggingBenchmark
+ * Benchmark del coste en el hilo de la petición de registrar una línea de log con:
+ *  - sync: encoder de texto escribiendo de forma síncrona (configuración anterior),
+ *  - async: encoder JSON detrás de un AsyncAppender que no bloquea (perfil 'prod').
+ *
+ * La salida se descarta para medir el coste del log y no el de la consola del sistema.
+ *
+ * @version 1.0.0
+ *
+ *
+ * @author PabloDev09
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class IssueLoggingBenchmark
+{
+	// Configuración de log a medir
+	@Param({"sync", "async"})
+	private String mode;
+
+	private LoggerContext loggerContext;
+
+	private Logger logger;
+
+	@Setup(Level.Trial)
+	public void setUp()
+	{
+		this.loggerContext = new LoggerContext();
+
+		OutputStreamAppender<ILoggingEvent> output = new OutputStreamAppender<>();
+		output.setContext(this.loggerContext);
+		output.setEncoder("async".equals(this.mode) ? jsonEncoder() : patternEncoder());
+		output.setOutputStream(OutputStream.nullOutputStream());
+		output.start();
+
+		Appender<ILoggingEvent> appender = output;
+		if ("async".equals(this.mode))
+		{
+			AsyncAppender asyncAppender = new AsyncAppender();
+			asyncAppender.setContext(this.loggerContext);
+			asyncAppender.setQueueSize(8192);
+			asyncAppender.setDiscardingThreshold(1638);
+			asyncAppender.setNeverBlock(true);
+			asyncAppender.addAppender(output);
+			asyncAppender.start();
+			appender = asyncAppender;
+		}
+
+		this.logger = this.loggerContext.getLogger("es.iesjandula.reaktorissuesserver");
+		this.logger.setAdditive(false);
+		this.logger.addAppender(appender);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown()
+	{
+		this.loggerContext.stop();
+	}
+
+	@Benchmark
+	public void logRequest()
+	{
+		logger.info("La incidencia ha cambiado a estado {}", "Finished");
+	}
+
+	private Encoder<ILoggingEvent> patternEncoder()
+	{
+		PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+		encoder.setContext(this.loggerContext);
+		encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p --- [%t] %-40.40logger{39} : %m%n");
+		encoder.start();
+		return encoder;
+	}
+
+	private Encoder<ILoggingEvent> jsonEncoder()
+	{
+		JsonEncoder encoder = new JsonEncoder();
+		encoder.setContext(this.loggerContext);
+		encoder.start();
+		return encoder;
+	}
+}
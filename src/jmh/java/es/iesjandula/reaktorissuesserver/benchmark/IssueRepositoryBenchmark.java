@@ -0,0 +1,147 @@
+package es.iesjandula.reaktorissuesserver.benchmark;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import es.iesjandula.reaktorissuesserver.ReaktorIssuesServerApp;
+import es.iesjandula.reaktorissuesserver.dto.IssueEntityDto;
+import es.iesjandula.reaktorissuesserver.models.IssueEntity;
+import es.iesjandula.reaktorissuesserver.repository.IIssueRepository;
+import es.iesjandula.reaktorissuesserver.utils.Constansts;
+
+/**
+ * Class: IssueRepositoryBenchmark
+ * Benchmark de las operaciones del repositorio (findById, findByFilters y alta) contra una base de datos
+ * H2 en memoria en modo MySQL (perfil 'benchmark') cargada con el número de incidencias indicado.
+ *
+ * Las incidencias se reparten entre 100 clases, 1000 profesores y los cuatro estados, de forma que
+ * el filtro por clase y estado devuelve aproximadamente una de cada 400 incidencias.
+ *
+ * @version 1.0.0
+ *
+ *
+ * @author PabloDev09
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IssueRepositoryBenchmark
+{
+	// Incidencias insertadas en cada lote de la carga inicial
+	private static final int SEED_BATCH_SIZE = 10000;
+
+	// Estados en el orden en que se reparten
+	private static final String[] STATUSES = {Constansts.STATUS_TO_DO, Constansts.STATUS_IN_PROCESS,
+			Constansts.STATUS_FINISHED, Constansts.STATUS_CANCELED};
+
+	// Número de incidencias cargadas antes de medir
+	@Param({"10000", "100000", "1000000"})
+	private int rows;
+
+	private ConfigurableApplicationContext context;
+
+	private IIssueRepository iIssueRepository;
+
+	// Filtro por clase y estado (índice idx_issue_class_status)
+	private final IssueEntityDto filters = new IssueEntityDto("Aula 7", null, null, null, Constansts.STATUS_IN_PROCESS);
+
+	// Contador para que cada alta tenga una clave natural distinta
+	private final AtomicLong created = new AtomicLong();
+
+	@Setup(Level.Trial)
+	public void setUp()
+	{
+		this.context = new SpringApplicationBuilder(ReaktorIssuesServerApp.class)
+				.profiles("benchmark")
+				.web(WebApplicationType.NONE)
+				.run();
+		this.iIssueRepository = this.context.getBean(IIssueRepository.class);
+
+		seed(this.context.getBean(JdbcTemplate.class), this.rows);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown()
+	{
+		this.context.close();
+	}
+
+	@Benchmark
+	public Optional<IssueEntity> findById()
+	{
+		return iIssueRepository.findById(ThreadLocalRandom.current().nextLong(1, rows + 1));
+	}
+
+	@Benchmark
+	public List<IssueEntity> findByFilters()
+	{
+		return iIssueRepository.findByFilters(filters);
+	}
+
+	@Benchmark
+	public IssueEntity save()
+	{
+		long number = created.incrementAndGet();
+		return iIssueRepository.saveAndFlush(new IssueEntityDto("Benchmark", "profesor" + (number % 1000) + "@iesjandula.es",
+				LocalDateTime.of(2030, 1, 1, 0, 0).plusSeconds(number), "Incidencia de benchmark", Constansts.STATUS_TO_DO));
+	}
+
+	/**
+	 * Carga las incidencias con inserciones JDBC por lotes y avanza la secuencia de identificadores.
+	 *
+	 * @param jdbcTemplate - Acceso JDBC a la base de datos.
+	 * @param rows         - Número de incidencias a cargar.
+	 */
+	private static void seed(JdbcTemplate jdbcTemplate, int rows)
+	{
+		LocalDateTime start = LocalDateTime.of(2020, 1, 1, 8, 0);
+		List<Object[]> batch = new ArrayList<>(SEED_BATCH_SIZE);
+
+		for (int id = 1; id <= rows; id++)
+		{
+			String status = STATUSES[id % STATUSES.length];
+			LocalDateTime date = start.plusMinutes(id);
+			Timestamp finishDate = Constansts.STATUS_FINISHED.equals(status) ? Timestamp.valueOf(date.plusHours(id % 72)) : null;
+
+			batch.add(new Object[] {id, "Aula " + (id % 100), "profesor" + (id % 1000) + "@iesjandula.es", Timestamp.valueOf(date),
+					"Incidencia " + id, status, finishDate, 0L});
+
+			if (batch.size() == SEED_BATCH_SIZE || id == rows)
+			{
+				jdbcTemplate.batchUpdate("INSERT INTO issue (id, class_number, professor_mail, date, description, status, finish_date, version) " +
+						"VALUES (?, ?, ?, ?, ?, ?, ?, ?)", batch);
+				batch.clear();
+			}
+		}
+
+		// Las altas del benchmark no deben reutilizar los identificadores cargados
+		jdbcTemplate.execute("ALTER SEQUENCE issue_seq RESTART WITH " + (rows + 100));
+	}
+}
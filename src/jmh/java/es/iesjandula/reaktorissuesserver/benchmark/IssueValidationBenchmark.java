@@ -0,0 +1,55 @@
+package es.iesjandula.reaktorissuesserver.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import es.iesjandula.reaktorissuesserver.dto.IssueEntityDto;
+import es.iesjandula.reaktorissuesserver.utils.Constansts;
+
+/**
+ * Class: IssueValidationBenchmark
+ * Benchmark de la validación de las incidencias recibidas (IssueEntityDto.checkValuesIsCorrect).
+ *
+ * @version 1.0.0
+ *
+ *
+ * @author PabloDev09
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IssueValidationBenchmark
+{
+	// Incidencia con todos los valores correctos
+	private final IssueEntityDto validIssue = new IssueEntityDto("0.5", "profesor@iesjandula.es",
+			LocalDateTime.of(2024, 10, 1, 9, 30), "El proyector no enciende", Constansts.STATUS_TO_DO);
+
+	// Incidencia con el correo de un dominio no permitido
+	private final IssueEntityDto invalidIssue = new IssueEntityDto("0.5", "profesor@g.educaand.es",
+			LocalDateTime.of(2024, 10, 1, 9, 30), "El proyector no enciende", Constansts.STATUS_TO_DO);
+
+	@Benchmark
+	public boolean checkValidIssue()
+	{
+		return validIssue.checkValuesIsCorrect();
+	}
+
+	@Benchmark
+	public boolean checkInvalidIssue()
+	{
+		return invalidIssue.checkValuesIsCorrect();
+	}
+}
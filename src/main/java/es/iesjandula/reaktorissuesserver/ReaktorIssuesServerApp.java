@@ -2,6 +2,7 @@ package es.iesjandula.reaktorissuesserver;  // Paquete de la clase
 
 import org.springframework.boot.SpringApplication;  // Importación de SpringApplication
 import org.springframework.boot.autoconfigure.SpringBootApplication;  // Importación de la anotación SpringBootApplication
+import org.springframework.scheduling.annotation.EnableScheduling;  // Importación de la anotación EnableScheduling
 
 /**
  * Clase: ReaktorIssuesServerApp
@@ -13,6 +14,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;  // Importa
  * 
  */
 @SpringBootApplication  // Anotación que indica que es una aplicación Spring Boot
+@EnableScheduling  // Habilita las tareas periódicas (envío del stream de incidencias y archivado)
 public class ReaktorIssuesServerApp {
 
     /**
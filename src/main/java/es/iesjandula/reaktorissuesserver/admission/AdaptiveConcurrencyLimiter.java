@@ -0,0 +1,145 @@
+package es.iesjandula.reaktorissuesserver.admission;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Class: AdaptiveConcurrencyLimiter
+ * Límite adaptativo del número de operaciones a la vez, con la regla AIMD (aumento aditivo, reducción multiplicativa).
+ *
+ * Cada operación que termina dentro de la latencia objetivo con el límite casi alcanzado sube el límite en
+ * 1/límite (una unidad por cada "ventana" completa); cada operación lenta o que falla por falta de conexiones
+ * lo multiplica por backoff. Las operaciones por lotes, cuya duración depende del tamaño del lote y no de la carga,
+ * terminan con release(overloaded) y solo reducen el límite si fallan por falta de conexiones. Las operaciones por encima del límite se rechazan al momento en lugar de esperar
+ * una conexión del pool, de forma que una base de datos saturada recibe menos trabajo en vez de más.
+ *
+ * @version 1.0.0
+ *
+ *
+ * @author PabloDev09
+ */
+public class AdaptiveConcurrencyLimiter
+{
+	// Límite mínimo y máximo
+	private final int minLimit;
+	private final int maxLimit;
+
+	// Latencia a partir de la cual una operación reduce el límite
+	private final long targetLatencyNanos;
+
+	// Factor de reducción del límite
+	private final double backoff;
+
+	// Operaciones en curso
+	private final AtomicInteger inFlight = new AtomicInteger();
+
+	// Límite actual (double codificado en un long)
+	private final AtomicLong limit;
+
+	/**
+	 * Constructor con los límites y la latencia objetivo.
+	 *
+	 * @param initialLimit  - Límite inicial.
+	 * @param minLimit      - Límite mínimo.
+	 * @param maxLimit      - Límite máximo.
+	 * @param targetLatency - Latencia a partir de la cual se reduce el límite.
+	 * @param backoff       - Factor de reducción del límite, entre 0 y 1.
+	 */
+	public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, Duration targetLatency, double backoff)
+	{
+		this.minLimit = minLimit;
+		this.maxLimit = maxLimit;
+		this.targetLatencyNanos = targetLatency.toNanos();
+		this.backoff = backoff;
+		this.limit = new AtomicLong(Double.doubleToLongBits(Math.clamp(initialLimit, minLimit, maxLimit)));
+	}
+
+	/**
+	 * Intenta empezar una operación.
+	 *
+	 * @return true - si la operación puede empezar; después hay que llamar a release.
+	 */
+	public boolean tryAcquire()
+	{
+		while (true)
+		{
+			int current = this.inFlight.get();
+			if (current >= getLimit())
+			{
+				return false;
+			}
+			if (this.inFlight.compareAndSet(current, current + 1))
+			{
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Termina una operación y ajusta el límite con su resultado.
+	 *
+	 * @param latencyNanos - Duración de la operación.
+	 * @param overloaded   - Si la operación ha fallado por falta de conexiones o por la carga de la base de datos.
+	 */
+	public void release(long latencyNanos, boolean overloaded)
+	{
+		adjust(this.inFlight.getAndDecrement(), overloaded || latencyNanos > this.targetLatencyNanos, true);
+	}
+
+	/**
+	 * Termina una operación cuya duración no indica la carga de la base de datos (por ejemplo, un lote de inserciones).
+	 * El límite solo se reduce si la operación ha fallado por sobrecarga y nunca sube.
+	 *
+	 * @param overloaded - Si la operación ha fallado por falta de conexiones o por la carga de la base de datos.
+	 */
+	public void release(boolean overloaded)
+	{
+		adjust(this.inFlight.getAndDecrement(), overloaded, false);
+	}
+
+	/**
+	 * Ajusta el límite con el resultado de una operación.
+	 *
+	 * @param current - Operaciones en curso al terminar la operación, incluida ella.
+	 * @param drop    - Si se reduce el límite.
+	 * @param grow    - Si se puede subir el límite cuando no se reduce.
+	 */
+	private void adjust(int current, boolean drop, boolean grow)
+	{
+		this.limit.updateAndGet(bits ->
+		{
+			double value = Double.longBitsToDouble(bits);
+			if (drop)
+			{
+				value = Math.max(this.minLimit, value * this.backoff);
+			}
+			// Solo se sube el límite si se está usando, para que no crezca sin medida en los periodos tranquilos
+			else if (grow && current * 2 >= value)
+			{
+				value = Math.min(this.maxLimit, value + 1 / value);
+			}
+			return Double.doubleToLongBits(value);
+		});
+	}
+
+	/**
+	 * Devuelve el límite actual.
+	 *
+	 * @return int - Número máximo de operaciones a la vez.
+	 */
+	public int getLimit()
+	{
+		return (int) Double.longBitsToDouble(this.limit.get());
+	}
+
+	/**
+	 * Devuelve el número de operaciones en curso.
+	 *
+	 * @return int - Operaciones en curso.
+	 */
+	public int getInFlight()
+	{
+		return this.inFlight.get();
+	}
+}
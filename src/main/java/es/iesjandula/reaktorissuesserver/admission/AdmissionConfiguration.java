@@ -0,0 +1,199 @@
+package es.iesjandula.reaktorissuesserver.admission;
+
+import java.time.Duration;
+import java.util.Set;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import es.iesjandula.reaktorissuesserver.exceptions.ReaktorIssuesServerException;
+import es.iesjandula.reaktorissuesserver.repository.IIssueRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Class: AdmissionConfiguration
+ * Control de admisión de las peticiones, para que un cliente que repite peticiones en bucle no agote
+ * el pool de conexiones del resto:
+ *  - reaktor.rate-limit: ritmo máximo de peticiones por cliente (IP y profesor) y endpoint (RateLimitInterceptor), 429.
+ *  - reaktor.admission: límite adaptativo de llamadas a la vez a IIssueRepository (AdaptiveConcurrencyLimiter);
+ *    las llamadas por encima del límite fallan al momento con DATABASE_OVERLOADED (503) en lugar de esperar
+ *    en el pool hasta su connection-timeout.
+ *
+ * Con el perfil 'virtual' las conexiones pasan además por ConcurrencyLimitedDataSource (reaktor.database.concurrency-limit),
+ * que está por debajo de este límite: una llamada admitida aquí espera en su cola FIFO como mucho su timeout para obtener
+ * una conexión. Si no la obtiene, el error (TransientDataAccessException o CannotCreateTransactionException) cuenta como
+ * sobrecarga y reduce el límite adaptativo, de modo que las llamadas siguientes se rechazan antes de llegar a la cola.
+ *
+ * @version 1.0.0
+ *
+ * @author PabloDev09
+ *
+ */
+@Configuration
+public class AdmissionConfiguration
+{
+	// Métodos de IIssueRepository que trabajan por lotes (importación, cambio de estado en bloque, archivado):
+	// su duración depende del tamaño del lote, por lo que no reducen el límite por latencia
+	private static final Set<String> BATCH_METHODS = Set.of("insertAll", "saveAll", "saveAllAndFlush", "deleteAllByIdInBatch",
+			"lockAllById", "updateStatusByIds", "changeStatus", "lockClosedBefore", "findByStatusIn");
+
+	/**
+	 * Registra el límite de ritmo en los endpoints de incidencias.
+	 *
+	 * @param ratePerSecond    - Peticiones por segundo de cada cliente a cada endpoint.
+	 * @param burst            - Ráfaga máxima de peticiones.
+	 * @param idleTimeout      - Tiempo sin peticiones tras el que se olvida un cliente.
+	 * @param maxClients       - Número máximo de cubos (cliente y endpoint) en memoria.
+	 * @return WebMvcConfigurer - Registro del interceptor.
+	 */
+	@Bean
+	@ConditionalOnProperty(name = "reaktor.rate-limit.enabled", havingValue = "true")
+	public WebMvcConfigurer rateLimitConfigurer(@Value("${reaktor.rate-limit.rate:20}") double ratePerSecond,
+												@Value("${reaktor.rate-limit.burst:40}") int burst,
+												@Value("${reaktor.rate-limit.idle-timeout:10m}") Duration idleTimeout,
+												@Value("${reaktor.rate-limit.max-clients:100000}") long maxClients)
+	{
+		RateLimitInterceptor interceptor = new RateLimitInterceptor(ratePerSecond, burst, idleTimeout, maxClients);
+		return new WebMvcConfigurer()
+		{
+			@Override
+			public void addInterceptors(InterceptorRegistry registry)
+			{
+				registry.addInterceptor(interceptor).addPathPatterns("/incidencias", "/incidencias/**");
+			}
+		};
+	}
+
+	/**
+	 * Límite adaptativo de llamadas a la vez a IIssueRepository.
+	 * Empieza en el tamaño del pool de conexiones.
+	 *
+	 * @param initialLimit                - Límite inicial.
+	 * @param minLimit                    - Límite mínimo.
+	 * @param maxLimit                    - Límite máximo.
+	 * @param targetLatency               - Duración a partir de la cual una llamada reduce el límite.
+	 * @return AdaptiveConcurrencyLimiter - El límite.
+	 */
+	@Bean
+	@ConditionalOnProperty(name = "reaktor.admission.enabled", havingValue = "true")
+	public AdaptiveConcurrencyLimiter repositoryConcurrencyLimiter(
+			@Value("${reaktor.admission.initial-limit:${spring.datasource.hikari.maximum-pool-size:10}}") int initialLimit,
+			@Value("${reaktor.admission.min-limit:4}") int minLimit,
+			@Value("${reaktor.admission.max-limit:40}") int maxLimit,
+			@Value("${reaktor.admission.target-latency:250ms}") Duration targetLatency)
+	{
+		return new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, targetLatency, 0.9);
+	}
+
+	/**
+	 * Post-procesador que envuelve IIssueRepository con el límite adaptativo, si está activado.
+	 *
+	 * @param limiter            - El límite, se resuelve al crear el repositorio.
+	 * @return BeanPostProcessor - El post-procesador.
+	 */
+	@Bean
+	public static BeanPostProcessor repositoryAdmissionPostProcessor(ObjectProvider<AdaptiveConcurrencyLimiter> limiter)
+	{
+		return new BeanPostProcessor()
+		{
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException
+			{
+				AdaptiveConcurrencyLimiter available = bean instanceof IIssueRepository ? limiter.getIfAvailable() : null;
+				if (available == null)
+				{
+					return bean;
+				}
+
+				// El proxy implementa las mismas interfaces que el repositorio
+				ProxyFactory proxyFactory = new ProxyFactory(bean);
+				proxyFactory.addAdvice(limited(available));
+				return proxyFactory.getProxy(ClassUtils.getDefaultClassLoader());
+			}
+		};
+	}
+
+	/**
+	 * Métricas del límite adaptativo.
+	 *
+	 * @param limiter      - El límite.
+	 * @return MeterBinder - Registro de las métricas.
+	 */
+	@Bean
+	@ConditionalOnProperty(name = "reaktor.admission.enabled", havingValue = "true")
+	public MeterBinder repositoryConcurrencyMetrics(AdaptiveConcurrencyLimiter limiter)
+	{
+		return registry ->
+		{
+			Gauge.builder("reaktor.admission.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+					.description("Límite actual de llamadas a la vez al repositorio de incidencias")
+					.register(registry);
+			Gauge.builder("reaktor.admission.in-flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+					.description("Llamadas en curso al repositorio de incidencias")
+					.register(registry);
+		};
+	}
+
+	/**
+	 * Crea el interceptor que aplica el límite a cada llamada al repositorio.
+	 * Las llamadas por lotes ocupan un hueco del límite, pero solo lo reducen si fallan por sobrecarga.
+	 *
+	 * @param limiter              - El límite.
+	 * @return MethodInterceptor   - El interceptor.
+	 */
+	private static MethodInterceptor limited(AdaptiveConcurrencyLimiter limiter)
+	{
+		return invocation ->
+		{
+			// Los métodos de Object (toString, equals...) no consultan la base de datos
+			if (invocation.getMethod().getDeclaringClass() == Object.class)
+			{
+				return invocation.proceed();
+			}
+
+			if (!limiter.tryAcquire())
+			{
+				throw ReaktorIssuesServerException.DATABASE_OVERLOADED;
+			}
+
+			long start = System.nanoTime();
+			boolean batch = BATCH_METHODS.contains(invocation.getMethod().getName());
+			boolean overloaded = false;
+			try
+			{
+				return invocation.proceed();
+			}
+			catch (TransientDataAccessException | DataAccessResourceFailureException | CannotCreateTransactionException exception)
+			{
+				// Sin conexión a tiempo o base de datos sin recursos
+				overloaded = true;
+				throw exception;
+			}
+			finally
+			{
+				if (batch)
+				{
+					limiter.release(overloaded);
+				}
+				else
+				{
+					limiter.release(System.nanoTime() - start, overloaded);
+				}
+			}
+		};
+	}
+}
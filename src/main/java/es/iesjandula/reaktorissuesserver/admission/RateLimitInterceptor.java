@@ -0,0 +1,105 @@
+package es.iesjandula.reaktorissuesserver.admission;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import es.iesjandula.reaktorissuesserver.exceptions.ReaktorIssuesServerException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Class: RateLimitInterceptor
+ * Limita el ritmo de peticiones de cada cliente a cada endpoint con un cubo de fichas (TokenBucket).
+ *
+ * Cada endpoint (método y patrón, por ejemplo "POST /incidencias") tiene un cubo por IP del cliente y,
+ * si la petición indica la cabecera professorMail, otro por profesor; la petición tiene que obtener ficha
+ * de los dos. Sin ficha se rechaza con RATE_LIMITED (429) y la cabecera Retry-After.
+ *
+ * Los cubos se guardan en una caché de Caffeine (concurrente y repartida en segmentos) y se eliminan tras
+ * un tiempo sin peticiones, por lo que la memoria solo depende de los clientes activos.
+ *
+ * @version 1.0.0
+ *
+ *
+ * @author PabloDev09
+ */
+public class RateLimitInterceptor implements HandlerInterceptor
+{
+	// Cabecera con el correo del profesor, la misma que usan los endpoints
+	private static final String PROFESSOR_HEADER = "professorMail";
+
+	// Fichas por segundo de cada cubo
+	private final double ratePerSecond;
+
+	// Fichas máximas acumuladas de cada cubo
+	private final int burst;
+
+	// Cubos por endpoint y cliente
+	private final Cache<String, TokenBucket> buckets;
+
+	/**
+	 * Constructor con los límites de cada cubo.
+	 *
+	 * @param ratePerSecond - Peticiones por segundo de cada cliente a cada endpoint.
+	 * @param burst         - Ráfaga máxima de peticiones.
+	 * @param idleTimeout   - Tiempo sin peticiones tras el que se elimina un cubo.
+	 * @param maxBuckets    - Número máximo de cubos.
+	 */
+	public RateLimitInterceptor(double ratePerSecond, int burst, Duration idleTimeout, long maxBuckets)
+	{
+		this.ratePerSecond = ratePerSecond;
+		this.burst = burst;
+		this.buckets = Caffeine.newBuilder()
+				.expireAfterAccess(idleTimeout)
+				.maximumSize(maxBuckets)
+				.build();
+	}
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+	{
+		// Solo los endpoints de los controladores, no los recursos estáticos ni los errores
+		if (!(handler instanceof HandlerMethod))
+		{
+			return true;
+		}
+
+		String endpoint = request.getMethod() + " " + request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+		long wait = tryAcquire(endpoint + " ip:" + request.getRemoteAddr());
+
+		// No gastar la ficha del profesor si ya se rechaza por IP
+		String professorMail = request.getHeader(PROFESSOR_HEADER);
+		if (wait == 0 && professorMail != null)
+		{
+			wait = tryAcquire(endpoint + " professor:" + professorMail);
+		}
+
+		if (wait > 0)
+		{
+			// Segundos enteros hasta la siguiente ficha, al menos 1
+			response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + 999_999_999L))));
+			throw ReaktorIssuesServerException.RATE_LIMITED;
+		}
+		return true;
+	}
+
+	/**
+	 * Intenta tomar una ficha del cubo de un cliente, creándolo lleno si no existe.
+	 *
+	 * @param key   - Endpoint y cliente.
+	 * @return long - 0 si se ha tomado la ficha; si no, nanosegundos hasta que haya una ficha.
+	 */
+	private long tryAcquire(String key)
+	{
+		long now = System.nanoTime();
+		return this.buckets.get(key, k -> new TokenBucket(this.ratePerSecond, this.burst, now)).tryAcquire(now);
+	}
+}
@@ -0,0 +1,68 @@
+package es.iesjandula.reaktorissuesserver.admission;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Class: TokenBucket
+ * Cubo de fichas sin bloqueos: admite ráfagas de hasta capacity peticiones y después ratePerSecond peticiones por segundo.
+ *
+ * En lugar de contar fichas y recargarlas, guarda en un único AtomicLong el instante teórico en el que el cubo
+ * volvería a estar lleno (algoritmo GCRA, equivalente al cubo de fichas): cada petición lo adelanta un intervalo
+ * y se rechaza si quedaría más de capacity intervalos por delante del instante actual. Así cada petición es una
+ * lectura y un compareAndSet, sin hilos de recarga.
+ *
+ * @version 1.0.0
+ *
+ *
+ * @author PabloDev09
+ */
+public final class TokenBucket
+{
+	// Nanosegundos entre dos fichas
+	private final long intervalNanos;
+
+	// Nanosegundos de ráfaga admitidos (capacity fichas)
+	private final long burstNanos;
+
+	// Instante teórico (System.nanoTime) en el que el cubo vuelve a estar lleno
+	private final AtomicLong full;
+
+	/**
+	 * Constructor con el ritmo y la capacidad. El cubo empieza lleno.
+	 *
+	 * @param ratePerSecond - Fichas por segundo.
+	 * @param capacity      - Número máximo de fichas acumuladas (ráfaga).
+	 * @param nowNanos      - Instante actual (System.nanoTime).
+	 */
+	public TokenBucket(double ratePerSecond, int capacity, long nowNanos)
+	{
+		this.intervalNanos = Math.max(1, (long) (1_000_000_000L / ratePerSecond));
+		this.burstNanos = this.intervalNanos * capacity;
+		this.full = new AtomicLong(nowNanos);
+	}
+
+	/**
+	 * Intenta tomar una ficha.
+	 *
+	 * @param nowNanos - Instante actual (System.nanoTime).
+	 * @return long    - 0 si se ha tomado la ficha; si no, nanosegundos hasta que haya una ficha.
+	 */
+	public long tryAcquire(long nowNanos)
+	{
+		while (true)
+		{
+			long current = this.full.get();
+			long next = Math.max(current - nowNanos, 0) + nowNanos + this.intervalNanos;
+
+			long wait = next - nowNanos - this.burstNanos;
+			if (wait > 0)
+			{
+				return wait;
+			}
+			if (this.full.compareAndSet(current, next))
+			{
+				return 0;
+			}
+		}
+	}
+}
@@ -0,0 +1,66 @@
+package es.iesjandula.reaktorissuesserver.archive;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import es.iesjandula.reaktorissuesserver.repository.IIssueArchiveRepository;
+
+/**
+ * Class: ArchiveHorizon
+ * Fecha más reciente de las incidencias archivadas.
+ *
+ * Las consultas con un filtro de fecha posterior a esta fecha no pueden encontrar incidencias archivadas,
+ * así que solo consultan la tabla Issue; el resto, también las que no filtran por fecha, consultan también el archivo.
+ *
+ * @version 1.0.0
+ *
+ *
+ * @author PabloDev09
+ */
+@Component
+public class ArchiveHorizon implements SmartInitializingSingleton
+{
+	@Autowired
+	private IIssueArchiveRepository iIssueArchiveRepository;
+
+	// Fecha más reciente archivada, null si el archivo está vacío
+	private final AtomicReference<LocalDateTime> horizon = new AtomicReference<>();
+
+	/**
+	 * Carga la fecha más reciente archivada al arrancar, de la base de datos principal y no de una réplica retrasada.
+	 */
+	@Override
+	@Transactional
+	public void afterSingletonsInstantiated()
+	{
+		this.horizon.set(iIssueArchiveRepository.findMaxDate());
+	}
+
+	/**
+	 * Comprueba si puede haber incidencias archivadas con la fecha indicada.
+	 *
+	 * @param date  - Fecha del filtro, null si no se filtra por fecha.
+	 * @return true - si hay que consultar también el archivo.
+	 */
+	public boolean reaches(LocalDateTime date)
+	{
+		LocalDateTime current = this.horizon.get();
+		// Sin filtro de fecha cualquier incidencia archivada cumple la consulta
+		return current != null && (date == null || !date.isAfter(current));
+	}
+
+	/**
+	 * Amplía la fecha más reciente archivada tras archivar incidencias.
+	 *
+	 * @param archivedDate - Fecha más reciente de las incidencias archivadas.
+	 */
+	public void extend(LocalDateTime archivedDate)
+	{
+		this.horizon.accumulateAndGet(archivedDate, (current, date) -> current == null || date.isAfter(current) ? date : current);
+	}
+}
@@ -0,0 +1,102 @@
+package es.iesjandula.reaktorissuesserver.archive;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import es.iesjandula.reaktorissuesserver.repository.IIssueArchiveRepository;
+import es.iesjandula.reaktorissuesserver.repository.IIssueRepository;
+import es.iesjandula.reaktorissuesserver.utils.Constansts;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Class: IssueArchiver
+ * Tarea periódica que mueve a la tabla de archivo (IssueArchiveEntity) las incidencias cerradas
+ * (Finished o Canceled) con una fecha anterior a reaktor.archive.min-age.
+ *
+ * Las incidencias se mueven por lotes, cada uno en su propia transacción: se bloquean, se copian
+ * con un INSERT ... SELECT y se borran de la tabla Issue, de forma que las consultas sobre las
+ * incidencias abiertas no recorren las cerradas. Las estadísticas siguen contando las archivadas.
+ *
+ * @version 1.0.0
+ *
+ *
+ * @author PabloDev09
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "reaktor.archive.enabled", havingValue = "true", matchIfMissing = true)
+public class IssueArchiver
+{
+	// Estados de las incidencias que se archivan
+	private static final Set<String> CLOSED_STATUSES = Set.of(Constansts.STATUS_FINISHED, Constansts.STATUS_CANCELED);
+
+	@Autowired
+	private IIssueRepository iIssueRepository;
+
+	@Autowired
+	private IIssueArchiveRepository iIssueArchiveRepository;
+
+	@Autowired
+	private ArchiveHorizon archiveHorizon;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	// Antigüedad mínima de una incidencia cerrada para archivarla
+	@Value("${reaktor.archive.min-age:P90D}")
+	private Duration minAge;
+
+	// Número de incidencias por lote y transacción
+	@Value("${reaktor.archive.batch-size:1000}")
+	private int batchSize;
+
+	/**
+	 * Archiva por lotes las incidencias cerradas anteriores a la antigüedad mínima.
+	 */
+	@Scheduled(cron = "${reaktor.archive.cron:0 0 3 * * *}", zone = "Europe/Madrid")
+	public void archive()
+	{
+		LocalDateTime now = ZonedDateTime.now(ZoneId.of("Europe/Madrid")).toLocalDateTime();
+		LocalDateTime cutoff = now.minus(this.minAge);
+
+		// Antes de mover nada, las consultas con fecha anterior al límite ya incluyen el archivo
+		archiveHorizon.extend(cutoff);
+
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+		long archived = 0;
+		int moved;
+
+		do
+		{
+			moved = transactionTemplate.execute(status ->
+			{
+				// Bloquear el lote para que no cambie de estado hasta borrarlo
+				List<Long> ids = iIssueRepository.lockClosedBefore(CLOSED_STATUSES, cutoff, this.batchSize);
+				if (ids.isEmpty())
+				{
+					return 0;
+				}
+
+				iIssueArchiveRepository.copyFromIssues(ids, now);
+				iIssueRepository.deleteAllByIdInBatch(ids);
+				return ids.size();
+			});
+			archived += moved;
+		}
+		while (moved == this.batchSize);
+
+		log.info("Archivadas {} incidencias cerradas anteriores a {}", archived, cutoff);
+	}
+}
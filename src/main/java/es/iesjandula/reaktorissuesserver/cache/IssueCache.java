@@ -0,0 +1,225 @@
+package es.iesjandula.reaktorissuesserver.cache;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import es.iesjandula.reaktorissuesserver.events.IssueEvent;
+import es.iesjandula.reaktorissuesserver.models.IdIssue;
+import es.iesjandula.reaktorissuesserver.models.IssueEntity;
+
+/**
+ * Class: IssueCache
+ * Caché en memoria de lectura (read-through) delante del repositorio de incidencias.
+ *
+ * Usa Caffeine (política W-TinyLFU) acotada por tamaño y por tiempo de vida para:
+ *  - las incidencias buscadas por su clave natural (IdIssue, sin distinguir mayúsculas como la base de datos),
+ *  - las páginas de incidencias filtradas (IssueFilterKey).
+ *
+ * Tras cada escritura (IssueEvent) se eliminan solo las entradas afectadas: la incidencia escrita
+ * y las páginas que la contenían o cuyos filtros coinciden con su estado anterior o nuevo.
+ * Si las lecturas van a réplicas (reaktor.datasource.replica-routing), se vuelven a eliminar pasado el
+ * retraso máximo de replicación, por si se han cargado de una réplica que aún no tenía la escritura.
+ *
+ * @version 1.0.0
+ *
+ *
+ * @author PabloDev09
+ */
+@Component
+public class IssueCache
+{
+	// Incidencias por clave natural
+	private final Cache<IdIssue, IssueEntity> issues;
+
+	// Páginas de incidencias filtradas por filtros, cursor y tamaño de página
+	private final Cache<IssueFilterKey, List<IssueEntity>> pages;
+
+	// Ejecución retrasada de la segunda eliminación, null si las lecturas no van a réplicas
+	private final Executor replicaLagExecutor;
+
+	/**
+	 * Constructor con los límites de la caché.
+	 *
+	 * @param issuesMaximumSize - Número máximo de incidencias en caché.
+	 * @param issuesTtl         - Tiempo de vida de una incidencia en caché.
+	 * @param pagesMaximumSize  - Número máximo de páginas en caché.
+	 * @param pagesTtl          - Tiempo de vida de una página en caché.
+	 * @param replicaRouting    - Si las lecturas van a réplicas.
+	 * @param replicaMaxLag     - Retraso de replicación máximo de las réplicas que reciben lecturas.
+	 */
+	public IssueCache(@Value("${reaktor.cache.issues.maximum-size:10000}") long issuesMaximumSize,
+					  @Value("${reaktor.cache.issues.ttl:PT5M}") Duration issuesTtl,
+					  @Value("${reaktor.cache.pages.maximum-size:1000}") long pagesMaximumSize,
+					  @Value("${reaktor.cache.pages.ttl:PT30S}") Duration pagesTtl,
+					  @Value("${reaktor.datasource.replica-routing.enabled:false}") boolean replicaRouting,
+					  @Value("${reaktor.datasource.replica-routing.max-lag:PT5S}") Duration replicaMaxLag)
+	{
+		this.issues = Caffeine.newBuilder()
+				.maximumSize(issuesMaximumSize)
+				.expireAfterWrite(issuesTtl)
+				.recordStats()
+				.build();
+
+		this.pages = Caffeine.newBuilder()
+				.maximumSize(pagesMaximumSize)
+				.expireAfterWrite(pagesTtl)
+				.recordStats()
+				.build();
+
+		this.replicaLagExecutor = replicaRouting
+				? CompletableFuture.delayedExecutor(replicaMaxLag.toMillis(), TimeUnit.MILLISECONDS)
+				: null;
+	}
+
+	/**
+	 * Devuelve una incidencia de la caché o la carga con el loader si no está.
+	 * Las incidencias que no existen no se guardan en caché.
+	 *
+	 * @param idIssue                - La clave natural de la incidencia.
+	 * @param loader                 - Búsqueda en el repositorio.
+	 * @return Optional<IssueEntity> - La incidencia si existe.
+	 */
+	public Optional<IssueEntity> getIssue(IdIssue idIssue, Function<IdIssue, Optional<IssueEntity>> loader)
+	{
+		return Optional.ofNullable(this.issues.get(cacheKey(idIssue), key -> loader.apply(idIssue).orElse(null)));
+	}
+
+	/**
+	 * Devuelve una página de la caché o la carga con el loader si no está.
+	 *
+	 * @param key                - Filtros, cursor y tamaño de la página.
+	 * @param loader             - Consulta en el repositorio.
+	 * @return List<IssueEntity> - Incidencias de la página (inmutable).
+	 */
+	public List<IssueEntity> getPage(IssueFilterKey key, Supplier<List<IssueEntity>> loader)
+	{
+		return this.pages.get(key, filterKey -> List.copyOf(loader.get()));
+	}
+
+	/**
+	 * Elimina una incidencia de la caché para que la siguiente lectura vaya a la base de datos.
+	 *
+	 * @param idIssue - La clave natural de la incidencia.
+	 */
+	public void evict(IdIssue idIssue)
+	{
+		this.issues.invalidate(cacheKey(idIssue));
+	}
+
+	/**
+	 * Elimina de la caché las entradas afectadas por una escritura.
+	 *
+	 * @param event - El cambio de la incidencia.
+	 */
+	@EventListener
+	public void onIssueEvent(IssueEvent event)
+	{
+		invalidate(event);
+
+		// Las lecturas desde una réplica retrasada pueden volver a guardar la incidencia anterior
+		if (this.replicaLagExecutor != null)
+		{
+			this.replicaLagExecutor.execute(() -> invalidate(event));
+		}
+	}
+
+	/**
+	 * Elimina la incidencia escrita y las páginas afectadas.
+	 *
+	 * @param event - El cambio de la incidencia.
+	 */
+	private void invalidate(IssueEvent event)
+	{
+		IssueEntity written = event.getCurrent() != null ? event.getCurrent() : event.getPrevious();
+		IdIssue idIssue = new IdIssue(written.getClassNumber(), written.getProfessorMail(), written.getDate());
+
+		// Incidencia escrita
+		this.issues.invalidate(cacheKey(idIssue));
+
+		// Páginas que contenían la incidencia o que pueden contenerla ahora
+		this.pages.asMap().entrySet().removeIf(entry ->
+				entry.getKey().mayMatch(event.getPrevious()) ||
+				entry.getKey().mayMatch(event.getCurrent()) ||
+				contains(entry.getValue(), idIssue));
+	}
+
+	/**
+	 * Devuelve los contadores de aciertos, fallos y expulsiones de la caché.
+	 *
+	 * @return Map<String, Map<String, Object>> - Estadísticas de las incidencias y de las páginas.
+	 */
+	public Map<String, Map<String, Object>> stats()
+	{
+		Map<String, Map<String, Object>> stats = new LinkedHashMap<>();
+		stats.put("issues", toMap(this.issues.stats(), this.issues.estimatedSize()));
+		stats.put("pages", toMap(this.pages.stats(), this.pages.estimatedSize()));
+		return stats;
+	}
+
+	/**
+	 * Comprueba si una página contiene una incidencia.
+	 *
+	 * @param page    - Incidencias de la página.
+	 * @param idIssue - La clave natural de la incidencia.
+	 * @return true   - si la página contiene la incidencia.
+	 */
+	private static boolean contains(List<IssueEntity> page, IdIssue idIssue)
+	{
+		for (IssueEntity issue : page)
+		{
+			if (Objects.equals(idIssue.getDate(), issue.getDate()) &&
+				Objects.equals(IssueFilterKey.fold(idIssue.getClassNumber()), IssueFilterKey.fold(issue.getClassNumber())) &&
+				Objects.equals(IssueFilterKey.fold(idIssue.getProfessorMail()), IssueFilterKey.fold(issue.getProfessorMail())))
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Devuelve la clave de caché de una incidencia, con el número de clase y el correo en minúsculas.
+	 *
+	 * @param idIssue  - La clave natural de la incidencia.
+	 * @return IdIssue - La clave normalizada.
+	 */
+	private static IdIssue cacheKey(IdIssue idIssue)
+	{
+		return new IdIssue(IssueFilterKey.fold(idIssue.getClassNumber()), IssueFilterKey.fold(idIssue.getProfessorMail()), idIssue.getDate());
+	}
+
+	/**
+	 * Convierte las estadísticas de Caffeine en un mapa serializable.
+	 *
+	 * @param cacheStats          - Estadísticas de la caché.
+	 * @param size                - Número estimado de entradas.
+	 * @return Map<String, Object> - Estadísticas.
+	 */
+	private static Map<String, Object> toMap(CacheStats cacheStats, long size)
+	{
+		Map<String, Object> map = new LinkedHashMap<>();
+		map.put("size", size);
+		map.put("hits", cacheStats.hitCount());
+		map.put("misses", cacheStats.missCount());
+		map.put("hitRate", cacheStats.hitRate());
+		map.put("evictions", cacheStats.evictionCount());
+		return map;
+	}
+}
@@ -0,0 +1,107 @@
+package es.iesjandula.reaktorissuesserver.cache;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Objects;
+
+import es.iesjandula.reaktorissuesserver.dto.IssueEntityDto;
+import es.iesjandula.reaktorissuesserver.models.IssueEntity;
+import lombok.Value;
+
+/**
+ * Class: IssueFilterKey
+ * Clave normalizada de una página de incidencias filtradas en la caché:
+ * los filtros (classNumber, professorMail, date, description, status), el cursor y el tamaño de página.
+ *
+ * Los filtros de texto se guardan en minúsculas y se comparan con los valores de la incidencia también en minúsculas,
+ * igual que la colación _ci de MySQL: el filtro "1daw" devuelve y debe invalidarse con la incidencia de "1DAW".
+ *
+ * @version 1.0.0
+ *
+ *
+ * @author PabloDev09
+ */
+@Value
+public class IssueFilterKey
+{
+	// Filtro por número de clase
+	String classNumber;
+	// Filtro por correo de profesor
+	String professorMail;
+	// Filtro por fecha
+	LocalDateTime date;
+	// Filtro por descripción
+	String description;
+	// Filtro por estado
+	String status;
+	// Token de continuación
+	String cursor;
+	// Tamaño de página
+	int limit;
+
+	/**
+	 * Crea la clave de una página a partir de los filtros recibidos.
+	 * Las cadenas en blanco se normalizan a null, igual que un filtro no informado, y el resto a minúsculas.
+	 *
+	 * @param filters         - Incidencia con los filtros a aplicar.
+	 * @param cursor          - Token de continuación o null.
+	 * @param limit           - Tamaño de página.
+	 * @return IssueFilterKey - Clave normalizada.
+	 */
+	public static IssueFilterKey of(IssueEntityDto filters, String cursor, int limit)
+	{
+		return new IssueFilterKey(normalize(filters.getClassNumDto()), normalize(filters.getProfMailDto()), filters.getDateDto(),
+				normalize(filters.getDescDto()), normalize(filters.getStatDto()), cursor, limit);
+	}
+
+	/**
+	 * Comprueba si una incidencia puede pertenecer al resultado de estos filtros.
+	 * Los campos null de la incidencia se consideran desconocidos y no descartan la coincidencia.
+	 *
+	 * @param issue - La incidencia (o el estado conocido de la incidencia).
+	 * @return true - si la incidencia puede coincidir con los filtros; false en caso contrario.
+	 */
+	public boolean mayMatch(IssueEntity issue)
+	{
+		return issue != null
+				&& mayMatch(this.classNumber, issue.getClassNumber())
+				&& mayMatch(this.professorMail, issue.getProfessorMail())
+				&& (this.date == null || issue.getDate() == null || this.date.equals(issue.getDate()))
+				&& mayMatch(this.description, issue.getDescription())
+				&& mayMatch(this.status, issue.getStatus());
+	}
+
+	/**
+	 * Comprueba un filtro de texto contra un valor conocido o desconocido, sin distinguir mayúsculas.
+	 *
+	 * @param filter - Valor normalizado del filtro o null si no se filtra.
+	 * @param value  - Valor de la incidencia o null si se desconoce.
+	 * @return true  - si el valor puede cumplir el filtro.
+	 */
+	private static boolean mayMatch(String filter, String value)
+	{
+		return filter == null || value == null || Objects.equals(filter, fold(value));
+	}
+
+	/**
+	 * Pasa un texto a minúsculas para compararlo como la colación _ci de la base de datos.
+	 *
+	 * @param value   - Texto a comparar o null.
+	 * @return String - El texto en minúsculas o null.
+	 */
+	static String fold(String value)
+	{
+		return value == null ? null : value.toLowerCase(Locale.ROOT);
+	}
+
+	/**
+	 * Normaliza un filtro de texto.
+	 *
+	 * @param value   - Valor recibido.
+	 * @return String - El valor o null si está en blanco.
+	 */
+	private static String normalize(String value)
+	{
+		return value == null || value.isBlank() ? null : fold(value);
+	}
+}
@@ -0,0 +1,166 @@
+package es.iesjandula.reaktorissuesserver.config;
+
+import java.io.IOException;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import es.iesjandula.reaktorissuesserver.dto.IssueEntityDto;
+import es.iesjandula.reaktorissuesserver.models.IssueEntity;
+import es.iesjandula.reaktorissuesserver.utils.IssueStatusCodes;
+
+/**
+ * Class: BinaryFormatConfiguration
+ * Configuración de los formatos binarios CBOR (application/cbor) y Smile (application/x-jackson-smile),
+ * elegidos por la cabecera Accept (respuestas) y Content-Type (peticiones) junto a JSON.
+ *
+ * Usan la misma configuración de Jackson que JSON salvo que:
+ *  - las fechas se escriben como números ([año, mes, día, hora, minuto...]) en lugar de texto ISO,
+ *  - los estados de IssueEntity e IssueEntityDto se escriben con su código (IssueStatusCodes);
+ *    al leer se aceptan tanto el código como el texto.
+ * Smile además escribe cada nombre de campo una sola vez por respuesta y después lo referencia.
+ *
+ * @version 1.0.0
+ *
+ * @author PabloDev09
+ *
+ */
+@Configuration
+public class BinaryFormatConfiguration
+{
+	/**
+	 * Conversor de CBOR, sustituye al que Spring registra por defecto.
+	 *
+	 * @param builder                              - Constructor del ObjectMapper configurado por Spring Boot.
+	 * @return MappingJackson2CborHttpMessageConverter - El conversor.
+	 */
+	@Bean
+	public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder)
+	{
+		return new MappingJackson2CborHttpMessageConverter(binaryObjectMapper(builder, new CBORFactory()));
+	}
+
+	/**
+	 * Conversor de Smile, sustituye al que Spring registra por defecto.
+	 *
+	 * @param builder                               - Constructor del ObjectMapper configurado por Spring Boot.
+	 * @return MappingJackson2SmileHttpMessageConverter - El conversor.
+	 */
+	@Bean
+	public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder)
+	{
+		return new MappingJackson2SmileHttpMessageConverter(binaryObjectMapper(builder, new SmileFactory()));
+	}
+
+	/**
+	 * Crea el ObjectMapper de un formato binario.
+	 *
+	 * @param builder        - Constructor del ObjectMapper con la configuración de JSON.
+	 * @param factory        - Factoría del formato (CBORFactory, SmileFactory).
+	 * @return ObjectMapper  - El ObjectMapper del formato.
+	 */
+	public static ObjectMapper binaryObjectMapper(Jackson2ObjectMapperBuilder builder, JsonFactory factory)
+	{
+		return builder.factory(factory)
+				.featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+				.mixIn(IssueEntity.class, IssueEntityMixIn.class)
+				.mixIn(IssueEntityDto.class, IssueEntityDtoMixIn.class)
+				.build();
+	}
+
+	/**
+	 * Campo de estado de IssueEntity codificado.
+	 */
+	private abstract static class IssueEntityMixIn
+	{
+		@JsonSerialize(using = StatusSerializer.class)
+		@JsonDeserialize(using = StatusDeserializer.class)
+		private String status;
+	}
+
+	/**
+	 * Campo de estado de IssueEntityDto codificado.
+	 */
+	private abstract static class IssueEntityDtoMixIn
+	{
+		@JsonSerialize(using = StatusSerializer.class)
+		@JsonDeserialize(using = StatusDeserializer.class)
+		private String statDto;
+	}
+
+	/**
+	 * Class: StatusSerializer
+	 * Escribe un estado válido con su código y cualquier otro valor como texto.
+	 */
+	static class StatusSerializer extends StdSerializer<String>
+	{
+		private static final long serialVersionUID = 1L;
+
+		StatusSerializer()
+		{
+			super(String.class);
+		}
+
+		@Override
+		public void serialize(String status, JsonGenerator generator, SerializerProvider provider) throws IOException
+		{
+			int code = IssueStatusCodes.code(status);
+			if (code >= 0)
+			{
+				generator.writeNumber(code);
+			}
+			else
+			{
+				generator.writeString(status);
+			}
+		}
+	}
+
+	/**
+	 * Class: StatusDeserializer
+	 * Lee un estado como código o como texto.
+	 */
+	static class StatusDeserializer extends StdDeserializer<String>
+	{
+		private static final long serialVersionUID = 1L;
+
+		StatusDeserializer()
+		{
+			super(String.class);
+		}
+
+		@Override
+		public String deserialize(JsonParser parser, DeserializationContext context) throws IOException
+		{
+			if (parser.currentToken() != JsonToken.VALUE_NUMBER_INT)
+			{
+				return parser.getValueAsString();
+			}
+
+			String status = IssueStatusCodes.status(parser.getIntValue());
+			if (status == null)
+			{
+				throw context.weirdNumberException(parser.getNumberValue(), String.class, "Código de estado desconocido");
+			}
+			return status;
+		}
+	}
+}
@@ -0,0 +1,164 @@
+package es.iesjandula.reaktorissuesserver.config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Class: ConcurrencyLimitedDataSource
+ * DataSource que limita con un semáforo justo (FIFO) el número de conexiones en uso a la vez.
+ *
+ * Con hilos virtuales cada petición tiene su propio hilo, de modo que miles de peticiones pueden pedir
+ * conexión a la vez. El semáforo las encola por orden de llegada y falla tras un tiempo máximo,
+ * en lugar de dejar que todas compitan dentro del pool hasta agotar su connection-timeout.
+ *
+ * @version 1.0.0
+ *
+ *
+ * @author PabloDev09
+ */
+public class ConcurrencyLimitedDataSource extends DelegatingDataSource
+{
+	// Permisos disponibles, uno por conexión en uso
+	private final Semaphore permits;
+
+	// Tiempo máximo de espera por un permiso
+	private final Duration timeout;
+
+	/**
+	 * Constructor con el DataSource real y los límites.
+	 *
+	 * @param target         - DataSource real (pool de conexiones).
+	 * @param maxConcurrency - Número máximo de conexiones en uso a la vez.
+	 * @param timeout        - Tiempo máximo de espera por un permiso.
+	 */
+	public ConcurrencyLimitedDataSource(DataSource target, int maxConcurrency, Duration timeout)
+	{
+		super(target);
+		this.permits = new Semaphore(maxConcurrency, true);
+		this.timeout = timeout;
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException
+	{
+		acquire();
+		try
+		{
+			return limited(super.getConnection());
+		}
+		catch (SQLException | RuntimeException exception)
+		{
+			this.permits.release();
+			throw exception;
+		}
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException
+	{
+		acquire();
+		try
+		{
+			return limited(super.getConnection(username, password));
+		}
+		catch (SQLException | RuntimeException exception)
+		{
+			this.permits.release();
+			throw exception;
+		}
+	}
+
+	/**
+	 * Devuelve el número de permisos libres, útil para métricas.
+	 *
+	 * @return int - Permisos disponibles.
+	 */
+	public int getAvailablePermits()
+	{
+		return this.permits.availablePermits();
+	}
+
+	/**
+	 * Devuelve el número aproximado de hilos esperando un permiso.
+	 *
+	 * @return int - Hilos en cola.
+	 */
+	public int getQueueLength()
+	{
+		return this.permits.getQueueLength();
+	}
+
+	/**
+	 * Espera un permiso como máximo el tiempo configurado.
+	 *
+	 * @throws SQLException - Si no se obtiene el permiso a tiempo o el hilo es interrumpido.
+	 */
+	private void acquire() throws SQLException
+	{
+		try
+		{
+			if (!this.permits.tryAcquire(this.timeout.toMillis(), TimeUnit.MILLISECONDS))
+			{
+				throw new SQLTransientConnectionException("Límite de concurrencia de base de datos alcanzado tras " + this.timeout);
+			}
+		}
+		catch (InterruptedException interruptedException)
+		{
+			Thread.currentThread().interrupt();
+			throw new SQLTransientConnectionException("Interrumpido esperando una conexión", interruptedException);
+		}
+	}
+
+	/**
+	 * Envuelve la conexión para devolver el permiso al cerrarla (una sola vez).
+	 *
+	 * @param target        - Conexión real.
+	 * @return Connection   - Conexión que libera el permiso en close().
+	 */
+	private Connection limited(Connection target)
+	{
+		AtomicBoolean released = new AtomicBoolean();
+
+		return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] {Connection.class},
+				(proxy, method, args) ->
+				{
+					// Identidad del proxy, no de la conexión real
+					if ("equals".equals(method.getName()))
+					{
+						return proxy == args[0];
+					}
+					if ("hashCode".equals(method.getName()))
+					{
+						return System.identityHashCode(proxy);
+					}
+
+					try
+					{
+						return method.invoke(target, args);
+					}
+					catch (InvocationTargetException invocationTargetException)
+					{
+						throw invocationTargetException.getCause();
+					}
+					finally
+					{
+						// Al cerrar la conexión se devuelve el permiso
+						if ("close".equals(method.getName()) && released.compareAndSet(false, true))
+						{
+							this.permits.release();
+						}
+					}
+				});
+	}
+}
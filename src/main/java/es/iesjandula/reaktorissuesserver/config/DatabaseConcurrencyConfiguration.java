@@ -0,0 +1,115 @@
+package es.iesjandula.reaktorissuesserver.config;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Class: DatabaseConcurrencyConfiguration
+ * Configuración que envuelve el DataSource en un ConcurrencyLimitedDataSource cuando
+ * reaktor.database.concurrency-limit.enabled es true (activado en el perfil 'virtual').
+ *
+ * El número de permisos es el tamaño máximo del pool de Hikari, de forma que nunca hay
+ * más hilos pidiendo conexión al pool que conexiones puede dar.
+ * Los permisos libres y los hilos en cola se publican como métricas junto a las de Hikari.
+ *
+ * @version 1.0.0
+ *
+ * @author PabloDev09
+ *
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "reaktor.database.concurrency-limit.enabled", havingValue = "true")
+public class DatabaseConcurrencyConfiguration
+{
+	/**
+	 * Post-procesador que envuelve el DataSource del pool.
+	 * Se aplica antes que el resto de envoltorios (ReplicaRoutingConfiguration), que no son un HikariDataSource.
+	 *
+	 * @param environment        - Entorno con la configuración de la aplicación.
+	 * @return BeanPostProcessor - El post-procesador.
+	 */
+	@Bean
+	public static BeanPostProcessor concurrencyLimitedDataSourcePostProcessor(Environment environment)
+	{
+		return new ConcurrencyLimitingPostProcessor(environment);
+	}
+
+	/**
+	 * Métricas de permisos libres y de hilos esperando un permiso.
+	 *
+	 * @param dataSource   - El DataSource de la aplicación.
+	 * @return MeterBinder - Registro de las métricas.
+	 */
+	@Bean
+	public MeterBinder concurrencyLimitedDataSourceMetrics(DataSource dataSource)
+	{
+		// Con réplicas, el pool de la base de datos principal está dentro del ReplicaRoutingDataSource
+		DataSource primary = dataSource instanceof ReplicaRoutingDataSource routingDataSource
+				? routingDataSource.getTargetDataSource() : dataSource;
+
+		return registry ->
+		{
+			if (primary instanceof ConcurrencyLimitedDataSource limitedDataSource)
+			{
+				Gauge.builder("reaktor.database.concurrency.available", limitedDataSource, ConcurrencyLimitedDataSource::getAvailablePermits)
+						.description("Permisos de conexión libres")
+						.register(registry);
+				Gauge.builder("reaktor.database.concurrency.queued", limitedDataSource, ConcurrencyLimitedDataSource::getQueueLength)
+						.description("Hilos esperando un permiso de conexión")
+						.register(registry);
+			}
+		};
+	}
+
+	/**
+	 * Class: ConcurrencyLimitingPostProcessor
+	 * Envuelve el pool de conexiones en un ConcurrencyLimitedDataSource.
+	 */
+	private static class ConcurrencyLimitingPostProcessor implements BeanPostProcessor, Ordered
+	{
+		private final Environment environment;
+
+		ConcurrencyLimitingPostProcessor(Environment environment)
+		{
+			this.environment = environment;
+		}
+
+		@Override
+		public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException
+		{
+			// Solo se envuelve el pool de conexiones
+			if (!(bean instanceof HikariDataSource hikariDataSource))
+			{
+				return bean;
+			}
+
+			int maxConcurrency = hikariDataSource.getMaximumPoolSize();
+			Duration timeout = this.environment.getProperty("reaktor.database.concurrency-limit.timeout", Duration.class, Duration.ofSeconds(5));
+
+			log.info("Limitando la concurrencia de base de datos a {} conexiones (espera máxima {})", maxConcurrency, timeout);
+			return new ConcurrencyLimitedDataSource((DataSource) bean, maxConcurrency, timeout);
+		}
+
+		@Override
+		public int getOrder()
+		{
+			return Ordered.HIGHEST_PRECEDENCE;
+		}
+	}
+}
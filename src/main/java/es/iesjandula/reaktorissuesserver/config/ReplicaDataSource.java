@@ -0,0 +1,268 @@
+package es.iesjandula.reaktorissuesserver.config;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Class: ReplicaDataSource
+ * DataSource de solo lectura que reparte las conexiones entre las réplicas disponibles (round-robin).
+ *
+ * Cada réplica se comprueba periódicamente: deja de usarse si no responde o si su retraso de replicación
+ * supera el máximo permitido, y vuelve a usarse cuando se recupera. Si no hay ninguna réplica disponible,
+ * las conexiones se piden a la base de datos principal.
+ *
+ * @version 1.0.0
+ *
+ *
+ * @author PabloDev09
+ */
+@Slf4j
+public class ReplicaDataSource extends AbstractDataSource implements AutoCloseable
+{
+	// Base de datos principal, para cuando no hay réplicas disponibles
+	private final DataSource primary;
+
+	// Réplicas de lectura
+	private final List<Replica> replicas;
+
+	// Retraso de replicación máximo, en segundos
+	private final long maxLagSeconds;
+
+	// Intervalo entre comprobaciones del retraso
+	private final Duration checkInterval;
+
+	// Siguiente réplica del reparto
+	private final AtomicInteger next = new AtomicInteger();
+
+	// Hilo de comprobación del retraso de las réplicas
+	private final ScheduledExecutorService checker;
+
+	/**
+	 * Constructor con las réplicas y la frecuencia de comprobación.
+	 * Las réplicas no se usan hasta su primera comprobación, que empieza con start().
+	 *
+	 * @param primary       - Base de datos principal.
+	 * @param replicas      - Réplicas de lectura.
+	 * @param maxLag        - Retraso de replicación máximo para usar una réplica.
+	 * @param checkInterval - Intervalo entre comprobaciones del retraso.
+	 */
+	public ReplicaDataSource(DataSource primary, List<Replica> replicas, Duration maxLag, Duration checkInterval)
+	{
+		this.primary = primary;
+		this.replicas = List.copyOf(replicas);
+		this.maxLagSeconds = maxLag.toSeconds();
+		this.checkInterval = checkInterval;
+
+		this.checker = Executors.newSingleThreadScheduledExecutor(runnable ->
+		{
+			Thread thread = new Thread(runnable, "replica-lag-checker");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Empieza las comprobaciones periódicas del retraso de las réplicas, fuera del constructor
+	 * para no publicar el objeto al hilo de comprobación antes de construirlo.
+	 */
+	public void start()
+	{
+		this.checker.scheduleWithFixedDelay(this::checkReplicas, 0, this.checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException
+	{
+		int size = this.replicas.size();
+		int start = Math.floorMod(this.next.getAndIncrement(), size);
+
+		for (int i = 0; i < size; i++)
+		{
+			Replica replica = this.replicas.get((start + i) % size);
+			if (!replica.isAvailable())
+			{
+				continue;
+			}
+
+			try
+			{
+				return replica.getDataSource().getConnection();
+			}
+			catch (SQLException sqlException)
+			{
+				// No volver a usarla hasta la siguiente comprobación
+				replica.update(-1, false);
+				log.warn("Réplica {} no disponible: {}", replica.getName(), sqlException.getMessage());
+			}
+		}
+
+		// Ninguna réplica disponible o al día
+		return this.primary.getConnection();
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException
+	{
+		// Las credenciales son las de cada pool
+		return getConnection();
+	}
+
+	/**
+	 * Devuelve las réplicas con su último retraso y disponibilidad.
+	 *
+	 * @return List<Replica> - Las réplicas.
+	 */
+	public List<Replica> getReplicas()
+	{
+		return this.replicas;
+	}
+
+	/**
+	 * Comprueba el retraso de replicación de cada réplica y actualiza su disponibilidad.
+	 */
+	void checkReplicas()
+	{
+		for (Replica replica : this.replicas)
+		{
+			long lag;
+			try (Connection connection = replica.getDataSource().getConnection())
+			{
+				lag = lagSeconds(connection);
+			}
+			catch (SQLException sqlException)
+			{
+				lag = -1;
+			}
+
+			boolean available = lag >= 0 && lag <= this.maxLagSeconds;
+			if (available != replica.isAvailable())
+			{
+				log.info("Réplica {} {} (retraso {} s)", replica.getName(), available ? "disponible" : "no disponible", lag);
+			}
+			replica.update(lag, available);
+		}
+	}
+
+	/**
+	 * Consulta el retraso de replicación de una réplica MySQL (8.0.22 o posterior).
+	 * Otras bases de datos, o un MySQL que no replica, no tienen retraso.
+	 *
+	 * @param connection    - Conexión a la réplica.
+	 * @return long         - Segundos de retraso, -1 si la replicación está detenida.
+	 * @throws SQLException - Si la réplica no responde.
+	 */
+	private static long lagSeconds(Connection connection) throws SQLException
+	{
+		if (!"MySQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName()))
+		{
+			return 0;
+		}
+
+		try (Statement statement = connection.createStatement();
+			 ResultSet resultSet = statement.executeQuery("SHOW REPLICA STATUS"))
+		{
+			if (!resultSet.next())
+			{
+				return 0;
+			}
+
+			long lag = resultSet.getLong("Seconds_Behind_Source");
+			return resultSet.wasNull() ? -1 : lag;
+		}
+	}
+
+	/**
+	 * Detiene las comprobaciones y cierra los pools de las réplicas.
+	 * Un pool que falla al cerrarse no impide cerrar el resto.
+	 */
+	@Override
+	public void close()
+	{
+		this.checker.shutdownNow();
+		for (Replica replica : this.replicas)
+		{
+			if (replica.getDataSource() instanceof AutoCloseable closeable)
+			{
+				try
+				{
+					closeable.close();
+				}
+				catch (Exception exception)
+				{
+					log.warn("Error al cerrar la réplica {}: {}", replica.getName(), exception.getMessage());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Class: Replica
+	 * Réplica de lectura con su pool de conexiones y el resultado de su última comprobación.
+	 */
+	public static class Replica
+	{
+		// Nombre de la réplica en el log y las métricas
+		private final String name;
+
+		// Pool de conexiones de la réplica
+		private final DataSource dataSource;
+
+		// Segundos de retraso de la última comprobación, -1 si no respondió
+		private volatile long lagSeconds = -1;
+
+		// Si se puede usar para lecturas
+		private volatile boolean available;
+
+		/**
+		 * Constructor con el nombre y el pool de la réplica.
+		 *
+		 * @param name       - Nombre de la réplica.
+		 * @param dataSource - Pool de conexiones de la réplica.
+		 */
+		public Replica(String name, DataSource dataSource)
+		{
+			this.name = name;
+			this.dataSource = dataSource;
+		}
+
+		public String getName()
+		{
+			return this.name;
+		}
+
+		public DataSource getDataSource()
+		{
+			return this.dataSource;
+		}
+
+		public long getLagSeconds()
+		{
+			return this.lagSeconds;
+		}
+
+		public boolean isAvailable()
+		{
+			return this.available;
+		}
+
+		private void update(long lagSeconds, boolean available)
+		{
+			this.lagSeconds = lagSeconds;
+			this.available = available;
+		}
+	}
+}
@@ -0,0 +1,149 @@
+package es.iesjandula.reaktorissuesserver.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Class: ReplicaRoutingConfiguration
+ * Configuración que envuelve el DataSource de la aplicación en un ReplicaRoutingDataSource cuando
+ * reaktor.datasource.replica-routing.enabled es true, para leer de las réplicas sin cambiar los repositorios.
+ *
+ * Cada réplica de reaktor.datasource.replica-routing.replicas es un pool de Hikari de solo lectura
+ * con su propia configuración (jdbc-url, username, password, maximum-pool-size...).
+ * El retraso y la disponibilidad de cada réplica se publican como métricas.
+ *
+ * @version 1.0.0
+ *
+ * @author PabloDev09
+ *
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "reaktor.datasource.replica-routing.enabled", havingValue = "true")
+public class ReplicaRoutingConfiguration
+{
+	// Prefijo de la configuración del enrutado
+	private static final String PREFIX = "reaktor.datasource.replica-routing";
+
+	/**
+	 * Post-procesador que envuelve el DataSource de la aplicación.
+	 * Se aplica después de DatabaseConcurrencyConfiguration, de forma que el límite de concurrencia
+	 * solo cuenta las conexiones a la base de datos principal.
+	 *
+	 * @param environment        - Entorno con la configuración de la aplicación.
+	 * @return BeanPostProcessor - El post-procesador.
+	 */
+	@Bean
+	public static BeanPostProcessor replicaRoutingDataSourcePostProcessor(Environment environment)
+	{
+		return new ReplicaRoutingPostProcessor(environment);
+	}
+
+	/**
+	 * Métricas de retraso y disponibilidad de cada réplica.
+	 *
+	 * @param dataSource   - El DataSource de la aplicación.
+	 * @return MeterBinder - Registro de las métricas.
+	 */
+	@Bean
+	public MeterBinder replicaDataSourceMetrics(DataSource dataSource)
+	{
+		return registry ->
+		{
+			if (dataSource instanceof ReplicaRoutingDataSource routingDataSource)
+			{
+				for (ReplicaDataSource.Replica replica : routingDataSource.getReplicaDataSource().getReplicas())
+				{
+					Gauge.builder("reaktor.database.replica.lag", replica, ReplicaDataSource.Replica::getLagSeconds)
+							.description("Segundos de retraso de la réplica en la última comprobación, -1 si no respondió")
+							.baseUnit("seconds")
+							.tag("replica", replica.getName())
+							.register(registry);
+					Gauge.builder("reaktor.database.replica.available", replica, r -> r.isAvailable() ? 1 : 0)
+							.description("1 si la réplica recibe lecturas")
+							.tag("replica", replica.getName())
+							.register(registry);
+				}
+			}
+		};
+	}
+
+	/**
+	 * Class: ReplicaRoutingPostProcessor
+	 * Envuelve el DataSource de la aplicación con las réplicas configuradas.
+	 */
+	private static class ReplicaRoutingPostProcessor implements BeanPostProcessor, Ordered
+	{
+		private final Environment environment;
+
+		ReplicaRoutingPostProcessor(Environment environment)
+		{
+			this.environment = environment;
+		}
+
+		@Override
+		public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException
+		{
+			// Solo se envuelve el DataSource de la aplicación, no los pools de las réplicas
+			if (!"dataSource".equals(beanName) || !(bean instanceof DataSource primary) || bean instanceof ReplicaRoutingDataSource)
+			{
+				return bean;
+			}
+
+			Binder binder = Binder.get(this.environment);
+			List<HikariDataSource> pools = binder.bind(PREFIX + ".replicas", Bindable.listOf(HikariDataSource.class))
+					.orElse(List.of());
+			if (pools.isEmpty())
+			{
+				log.warn("Enrutado a réplicas activado sin réplicas en {}.replicas", PREFIX);
+				return bean;
+			}
+
+			List<ReplicaDataSource.Replica> replicas = new ArrayList<>();
+			for (int i = 0; i < pools.size(); i++)
+			{
+				HikariDataSource pool = pools.get(i);
+				if (pool.getPoolName() == null)
+				{
+					pool.setPoolName("replica-" + i);
+				}
+				// Las conexiones a las réplicas nunca escriben
+				pool.setReadOnly(true);
+				replicas.add(new ReplicaDataSource.Replica(pool.getPoolName(), pool));
+			}
+
+			Duration maxLag = binder.bind(PREFIX + ".max-lag", Duration.class).orElse(Duration.ofSeconds(5));
+			Duration checkInterval = binder.bind(PREFIX + ".check-interval", Duration.class).orElse(Duration.ofSeconds(2));
+
+			log.info("Enviando las lecturas a {} réplicas (retraso máximo {})", replicas.size(), maxLag);
+			ReplicaDataSource replicaDataSource = new ReplicaDataSource(primary, replicas, maxLag, checkInterval);
+			replicaDataSource.start();
+			return new ReplicaRoutingDataSource(primary, replicaDataSource);
+		}
+
+		@Override
+		public int getOrder()
+		{
+			return Ordered.LOWEST_PRECEDENCE;
+		}
+	}
+}
@@ -0,0 +1,74 @@
+package es.iesjandula.reaktorissuesserver.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Class: ReplicaRoutingDataSource
+ * DataSource que envía las transacciones de solo lectura a las réplicas y el resto a la base de datos principal.
+ *
+ * La conexión real no se pide hasta la primera sentencia, cuando ya se sabe si la transacción es de
+ * solo lectura (@Transactional(readOnly = true), o las consultas de los repositorios de Spring Data):
+ * en ese caso se pide al ReplicaDataSource y, si no, a la base de datos principal.
+ *
+ * @version 1.0.0
+ *
+ *
+ * @author PabloDev09
+ */
+@Slf4j
+public final class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable
+{
+	// Réplicas de lectura
+	private final ReplicaDataSource replicaDataSource;
+
+	/**
+	 * Constructor con la base de datos principal y las réplicas.
+	 *
+	 * @param primary           - Base de datos principal.
+	 * @param replicaDataSource - Réplicas de lectura.
+	 */
+	public ReplicaRoutingDataSource(DataSource primary, ReplicaDataSource replicaDataSource)
+	{
+		super(primary);
+		this.replicaDataSource = replicaDataSource;
+		setReadOnlyDataSource(replicaDataSource);
+	}
+
+	/**
+	 * Devuelve las réplicas de lectura.
+	 *
+	 * @return ReplicaDataSource - Las réplicas.
+	 */
+	public ReplicaDataSource getReplicaDataSource()
+	{
+		return this.replicaDataSource;
+	}
+
+	/**
+	 * Cierra las réplicas y el pool de la base de datos principal, ya que Spring solo cierra
+	 * el DataSource que expone como bean.
+	 */
+	@Override
+	public void close()
+	{
+		this.replicaDataSource.close();
+
+		// El pool puede estar envuelto (ConcurrencyLimitedDataSource)
+		DataSource primary = obtainTargetDataSource();
+		try
+		{
+			if (primary.isWrapperFor(AutoCloseable.class))
+			{
+				primary.unwrap(AutoCloseable.class).close();
+			}
+		}
+		catch (Exception exception)
+		{
+			log.warn("Error al cerrar la base de datos principal: {}", exception.getMessage());
+		}
+	}
+}
@@ -0,0 +1,44 @@
+package es.iesjandula.reaktorissuesserver.config;
+
+import java.time.Duration;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Class: SqlLoggingConfiguration
+ * Configuración del registro de sentencias SQL de Hibernate:
+ *  - una muestra de las sentencias (reaktor.sql.sample-rate), con SqlSamplingStatementInspector,
+ *  - las consultas que tardan más de reaktor.metrics.slow-query-threshold, con su duración
+ *    (log org.hibernate.SQL_SLOW de Hibernate). Es el mismo umbral con el que IIssueRepositoryCustomImpl
+ *    registra los filtrados lentos con sus filtros.
+ *
+ * @version 1.0.0
+ *
+ * @author PabloDev09
+ *
+ */
+@Configuration
+public class SqlLoggingConfiguration
+{
+	/**
+	 * Añade el muestreo de sentencias y el registro de consultas lentas a la configuración de Hibernate.
+	 *
+	 * @param sampleRate                   - Proporción de sentencias a registrar, entre 0 y 1.
+	 * @param slowQueryThreshold           - Duración a partir de la cual se registra una consulta, 0 para ninguna.
+	 * @return HibernatePropertiesCustomizer - Personalización de las propiedades de Hibernate.
+	 */
+	@Bean
+	public HibernatePropertiesCustomizer sqlLoggingCustomizer(@Value("${reaktor.sql.sample-rate:0}") double sampleRate,
+															  @Value("${reaktor.metrics.slow-query-threshold:200ms}") Duration slowQueryThreshold)
+	{
+		return hibernateProperties ->
+		{
+			hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlSamplingStatementInspector(sampleRate));
+			hibernateProperties.put(AvailableSettings.LOG_SLOW_QUERY, slowQueryThreshold.toMillis());
+		};
+	}
+}
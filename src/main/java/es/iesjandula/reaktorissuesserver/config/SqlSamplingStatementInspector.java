@@ -0,0 +1,49 @@
+package es.iesjandula.reaktorissuesserver.config;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Class: SqlSamplingStatementInspector
+ * Registra en el log una muestra de las sentencias SQL que prepara Hibernate, sin modificarlas.
+ *
+ * Sustituye a show-sql, que escribe cada sentencia en la consola de forma síncrona:
+ * con una tasa de muestreo de 0.01 solo se registra una de cada cien sentencias.
+ *
+ * @version 1.0.0
+ *
+ *
+ * @author PabloDev09
+ */
+@Slf4j
+public class SqlSamplingStatementInspector implements StatementInspector
+{
+	private static final long serialVersionUID = 1L;
+
+	// Proporción de sentencias a registrar, entre 0 (ninguna) y 1 (todas)
+	private final double sampleRate;
+
+	/**
+	 * Constructor con la tasa de muestreo.
+	 *
+	 * @param sampleRate - Proporción de sentencias a registrar, entre 0 y 1.
+	 */
+	public SqlSamplingStatementInspector(double sampleRate)
+	{
+		this.sampleRate = sampleRate;
+	}
+
+	@Override
+	public String inspect(String sql)
+	{
+		if (this.sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < this.sampleRate)
+		{
+			log.info("SQL muestreada: {}", sql);
+		}
+		// La sentencia no se modifica
+		return sql;
+	}
+}
@@ -0,0 +1,119 @@
+package es.iesjandula.reaktorissuesserver.dedup;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import es.iesjandula.reaktorissuesserver.dto.IssueEntityDto;
+import es.iesjandula.reaktorissuesserver.events.IssueEvent;
+import es.iesjandula.reaktorissuesserver.models.IssueEntity;
+import es.iesjandula.reaktorissuesserver.models.IssueReport;
+import es.iesjandula.reaktorissuesserver.repository.IIssueReportRepository;
+import es.iesjandula.reaktorissuesserver.utils.IssueSimilarity;
+import es.iesjandula.reaktorissuesserver.views.OpenIssueViews;
+
+/**
+ * Class: IssueDeduplicator
+ * Detección en el alta de las incidencias repetidas: la misma avería de la misma clase reportada por varios profesores.
+ *
+ * Una nueva incidencia es repetida si hay una incidencia abierta de la misma clase (OpenIssueViews) dada de alta
+ * dentro de la ventana configurada (reaktor.dedup.window) con una descripción parecida (IssueSimilarity, al menos
+ * reaktor.dedup.similarity). En ese caso no se inserta: se guarda como aviso (IssueReport) de la existente.
+ *
+ * Dos altas parecidas simultáneas pueden no verse entre sí y crearse las dos.
+ *
+ * @version 1.0.0
+ *
+ *
+ * @author PabloDev09
+ */
+@Component
+public class IssueDeduplicator
+{
+	@Autowired
+	private OpenIssueViews openIssueViews;
+
+	@Autowired
+	private IIssueReportRepository iIssueReportRepository;
+
+	// Detectar las incidencias repetidas en el alta
+	@Value("${reaktor.dedup.enabled:true}")
+	private boolean enabled;
+
+	// Antigüedad máxima de una incidencia abierta para considerar repetida una nueva
+	@Value("${reaktor.dedup.window:48h}")
+	private Duration window;
+
+	// Similitud mínima de las descripciones, entre 0 y 1
+	@Value("${reaktor.dedup.similarity:0.6}")
+	private double similarity;
+
+	/**
+	 * Busca una incidencia abierta de la misma clase con una descripción parecida.
+	 *
+	 * @param issueDto        - La nueva incidencia, con su fecha de alta.
+	 * @return Optional<Long> - El identificador de la incidencia más parecida, vacío si no hay ninguna.
+	 */
+	public Optional<Long> findDuplicate(IssueEntityDto issueDto)
+	{
+		if (!this.enabled)
+		{
+			return Optional.empty();
+		}
+
+		Set<String> tokens = IssueSimilarity.tokens(issueDto.getDescDto());
+		LocalDateTime since = issueDto.getDateDto().minus(this.window);
+
+		Long bestId = null;
+		double bestSimilarity = this.similarity;
+		for (IssueEntity openIssue : openIssueViews.byClassroom(issueDto.getClassNumDto()))
+		{
+			// Las vistas están ordenadas de más reciente a más antigua
+			if (openIssue.getDate().isBefore(since))
+			{
+				break;
+			}
+
+			double current = IssueSimilarity.jaccard(tokens, IssueSimilarity.tokens(openIssue.getDescription()));
+			if (current >= bestSimilarity)
+			{
+				bestId = openIssue.getId();
+				bestSimilarity = current;
+			}
+		}
+		return Optional.ofNullable(bestId);
+	}
+
+	/**
+	 * Guarda la nueva incidencia como aviso de una incidencia abierta.
+	 *
+	 * @param issueId      - Identificador de la incidencia abierta.
+	 * @param issueDto     - La nueva incidencia.
+	 * @return IssueReport - El aviso guardado.
+	 */
+	public IssueReport attach(Long issueId, IssueEntityDto issueDto)
+	{
+		return iIssueReportRepository.save(new IssueReport(null, issueId, issueDto.getProfMailDto(), issueDto.getDateDto(),
+				issueDto.getDescDto()));
+	}
+
+	/**
+	 * Borra los avisos de una incidencia borrada.
+	 *
+	 * @param event - El cambio de la incidencia.
+	 */
+	@EventListener
+	public void onIssueEvent(IssueEvent event)
+	{
+		if (event.getType() == IssueEvent.Type.DELETED && event.getPrevious().getId() != null)
+		{
+			iIssueReportRepository.deleteByIssueId(event.getPrevious().getId());
+		}
+	}
+}
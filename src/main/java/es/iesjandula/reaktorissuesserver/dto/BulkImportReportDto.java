@@ -0,0 +1,30 @@
+package es.iesjandula.reaktorissuesserver.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Class: BulkImportReportDto
+ * Clase para representar el resultado de una importación masiva de incidencias.
+ *
+ * @version 1.0.0
+ *
+ *
+ * @author PabloDev09
+ */
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkImportReportDto
+{
+    // Número de incidencias importadas
+    private long imported;
+
+    // Errores de las filas que no se han podido importar
+    private List<BulkRowErrorDto> errors = new ArrayList<>();
+}
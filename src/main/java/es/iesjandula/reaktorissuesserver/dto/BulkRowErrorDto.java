@@ -0,0 +1,27 @@
+package es.iesjandula.reaktorissuesserver.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Class: BulkRowErrorDto
+ * Clase para representar el error de una fila de una importación masiva de incidencias.
+ *
+ * @version 1.0.0
+ *
+ *
+ * @author PabloDev09
+ */
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkRowErrorDto
+{
+    // Número de fila (registro en CSV) del cuerpo, empezando en 1
+    private long row;
+
+    // Motivo del error
+    private String error;
+}
@@ -3,6 +3,7 @@ package es.iesjandula.reaktorissuesserver.dto;
 import java.time.LocalDateTime;
 import java.util.Objects;
 
+import es.iesjandula.reaktorissuesserver.utils.Constansts;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -42,6 +43,8 @@ public class IssueEntityDto
      * Verifica si los valores clave de la Issue son correctos.
      * Comprueba si el correo del profesor es válido (no vacío ni con un dominio incorrecto), 
      * si el número de clase no está vacío y si la descripción también es válida.
+     * Ningún valor puede superar la longitud de su columna, para no confundir el error de la base de datos
+     * con una incidencia duplicada.
      * 
      * Además, si el nombre del profesor está vacío, intenta deducirlo a partir del correo.
      * Si el título está vacío, se asigna un valor predeterminado ("Sin título").
@@ -61,33 +64,37 @@ public class IssueEntityDto
     /**
      * Método privado para comprobar si el correo del profesor es válido.
      * 
-     * @return true  - si el correo del profesor no está vacío, no está en blanco y no termina con "@g.educaand.es";
+     * @return true  - si el correo del profesor no es null, no está vacío, no está en blanco, no termina con "@g.educaand.es"
+     *                 y cabe en su columna;
      *         false - en caso contrario.
      */
     private boolean checkProfMailDto() {
-        return !this.profMailDto.isBlank() && 
-               !this.profMailDto.endsWith("@g.educaand.es");
+        return this.profMailDto != null && !this.profMailDto.isBlank() && 
+               !this.profMailDto.endsWith("@g.educaand.es") &&
+               this.profMailDto.length() <= Constansts.MAX_PROFESSOR_MAIL_LENGTH;
     }
 
     /**
      * Método privado para comprobar si el número de clase no está vacío.
      * 
-     * @return true  - si el número de clase no está vacío y no está en blanco;
+     * @return true  - si el número de clase no es null, no está vacío, no está en blanco y cabe en su columna;
      *         false - en caso contrario.
      */
     private boolean checkClassNumDto() {
-        return !this.classNumDto.isBlank();
+        return this.classNumDto != null && !this.classNumDto.isBlank() &&
+               this.classNumDto.length() <= Constansts.MAX_CLASS_NUMBER_LENGTH;
     }
 
     /**
      * Método privado para verificar si la descripción no está vacía.
      * 
-     * @return true  - si la descripción no está vacía y no está en blanco;
+     * @return true  - si la descripción no es null, no está vacía, no está en blanco y cabe en su columna;
      *         false - en caso contrario.
      */
     private boolean checkDescDto() 
     {
-        return !this.descDto.isBlank();
+        return this.descDto != null && !this.descDto.isBlank() &&
+               this.descDto.length() <= Constansts.MAX_DESCRIPTION_LENGTH;
     }
 
 	public boolean equals(Object obj) {
@@ -0,0 +1,30 @@
+package es.iesjandula.reaktorissuesserver.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Class: IssueIngestStatusDto
+ * Clase para representar el estado de un alta de incidencia aceptada en la cola de altas asíncronas.
+ *
+ * @version 1.0.0
+ *
+ *
+ * @author PabloDev09
+ */
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class IssueIngestStatusDto
+{
+    // Identificador de seguimiento devuelto al aceptar el alta
+    private String trackingId;
+
+    // Estado del alta: Pending, Created, Merged, Duplicate o Failed
+    private String status;
+
+    // Identificador de la incidencia creada o a la que se ha añadido como aviso, null si aún no se ha insertado
+    private Long issueId;
+}
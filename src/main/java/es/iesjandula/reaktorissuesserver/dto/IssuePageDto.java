@@ -0,0 +1,30 @@
+package es.iesjandula.reaktorissuesserver.dto;
+
+import java.util.List;
+
+import es.iesjandula.reaktorissuesserver.models.IssueEntity;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Class: IssuePageDto
+ * Clase para representar una página de incidencias filtradas junto con el token para pedir la siguiente.
+ *
+ * @version 1.0.0
+ *
+ *
+ * @author PabloDev09
+ */
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class IssuePageDto
+{
+    // Incidencias de la página
+    private List<IssueEntity> issues;
+
+    // Token opaco de continuación, null si no hay más páginas
+    private String nextCursor;
+}
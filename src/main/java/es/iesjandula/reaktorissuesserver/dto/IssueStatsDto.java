@@ -0,0 +1,38 @@
+package es.iesjandula.reaktorissuesserver.dto;
+
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Class: IssueStatsDto
+ * Clase para representar las estadísticas agregadas de las incidencias.
+ *
+ * @version 1.0.0
+ *
+ *
+ * @author PabloDev09
+ */
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class IssueStatsDto
+{
+    // Número de incidencias por estado
+    private Map<String, Long> byStatus;
+
+    // Número de incidencias por clase y estado
+    private Map<String, Map<String, Long>> byClassroom;
+
+    // Número de incidencias por profesor y estado
+    private Map<String, Map<String, Long>> byProfessor;
+
+    // Número de incidencias finalizadas con fecha de finalización
+    private long finishedCount;
+
+    // Tiempo medio en segundos desde el alta hasta la finalización, null si no hay incidencias finalizadas
+    private Double meanTimeToFinishSeconds;
+}
@@ -0,0 +1,31 @@
+package es.iesjandula.reaktorissuesserver.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Class: IssueStatusBatchDto
+ * Clase para representar un cambio de estado en lote: las incidencias, por identificador o por filtros, y el estado destino.
+ *
+ * @version 1.0.0
+ *
+ *
+ * @author PabloDev09
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class IssueStatusBatchDto
+{
+    // Identificadores de las incidencias a cambiar
+    private List<Long> ids;
+
+    // Filtros de las incidencias a cambiar, si no se indican identificadores
+    private IssueEntityDto filters;
+
+    // Estado destino
+    private String statDto;
+}
@@ -0,0 +1,29 @@
+package es.iesjandula.reaktorissuesserver.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Class: IssueStatusResultDto
+ * Clase para representar el resultado del cambio de estado en lote de una incidencia.
+ *
+ * @version 1.0.0
+ *
+ *
+ * @author PabloDev09
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class IssueStatusResultDto
+{
+    // Identificador de la incidencia
+    private Long id;
+
+    // Resultado: Changed, Not allowed o Not found
+    private String result;
+
+    // Estado de la incidencia tras el cambio, null si no existe
+    private String status;
+}
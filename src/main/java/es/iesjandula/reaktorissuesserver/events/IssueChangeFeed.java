@@ -0,0 +1,325 @@
+package es.iesjandula.reaktorissuesserver.events;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import es.iesjandula.reaktorissuesserver.models.IdIssue;
+import es.iesjandula.reaktorissuesserver.models.IssueEntity;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Class: IssueChangeFeed
+ * Clase que publica los cambios de incidencias (IssueEvent) a los suscriptores de Server-Sent Events.
+ *
+ * Cada suscriptor filtra por professorMail, classNumber y status y tiene un buffer acotado en el que
+ * los cambios de una misma incidencia se agrupan en uno solo con su último estado: un alta seguida de cambios
+ * se envía como alta y un alta seguida de un borrado no se envía. Los buffers se vacían
+ * periódicamente; si un suscriptor lento llena su buffer, se le desconecta.
+ *
+ * @version 1.0.0
+ *
+ *
+ * @author PabloDev09
+ */
+@Slf4j
+@Component
+public class IssueChangeFeed
+{
+	// Suscriptores conectados
+	private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+	// Hilos para enviar los eventos sin bloquear al resto de suscriptores
+	private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+	// Número máximo de incidencias pendientes de enviar por suscriptor
+	@Value("${reaktor.stream.buffer-size:256}")
+	private int bufferSize;
+
+	// Tiempo máximo de conexión de un suscriptor
+	@Value("${reaktor.stream.timeout:PT30M}")
+	private Duration timeout;
+
+	/**
+	 * Crea una suscripción a los cambios de incidencias.
+	 *
+	 * @param professorMail - Filtro por correo de profesor o null.
+	 * @param classNumber   - Filtro por número de clase o null.
+	 * @param status        - Filtro por estado o null.
+	 * @return SseEmitter   - Conexión SSE del suscriptor.
+	 */
+	public SseEmitter subscribe(String professorMail, String classNumber, String status)
+	{
+		SseEmitter emitter = new SseEmitter(this.timeout.toMillis());
+		Subscriber subscriber = new Subscriber(emitter, professorMail, classNumber, status, this.bufferSize);
+
+		// Quitar el suscriptor cuando se cierra la conexión
+		emitter.onCompletion(() -> this.subscribers.remove(subscriber));
+		emitter.onTimeout(() -> this.subscribers.remove(subscriber));
+		emitter.onError(throwable -> this.subscribers.remove(subscriber));
+
+		this.subscribers.add(subscriber);
+		return emitter;
+	}
+
+	/**
+	 * Encola un cambio de incidencia en los suscriptores interesados.
+	 *
+	 * @param event - El cambio de la incidencia.
+	 */
+	@EventListener
+	public void onIssueEvent(IssueEvent event)
+	{
+		for (Subscriber subscriber : this.subscribers)
+		{
+			// Si el buffer se llena, el suscriptor no consume a tiempo y se desconecta
+			if (subscriber.matches(event) && !subscriber.offer(event))
+			{
+				log.warn("Suscriptor lento desconectado del stream de incidencias");
+				drop(subscriber);
+			}
+		}
+	}
+
+	/**
+	 * Envía los cambios pendientes de cada suscriptor.
+	 */
+	@Scheduled(fixedDelayString = "${reaktor.stream.flush-interval-ms:250}")
+	public void flush()
+	{
+		for (Subscriber subscriber : this.subscribers)
+		{
+			if (subscriber.hasPending() && subscriber.draining.compareAndSet(false, true))
+			{
+				this.senders.execute(() -> drain(subscriber));
+			}
+		}
+	}
+
+	/**
+	 * Envía un comentario a cada suscriptor para detectar conexiones cerradas.
+	 */
+	@Scheduled(fixedDelayString = "${reaktor.stream.heartbeat-interval-ms:15000}")
+	public void heartbeat()
+	{
+		for (Subscriber subscriber : this.subscribers)
+		{
+			this.senders.execute(() ->
+			{
+				try
+				{
+					subscriber.emitter.send(SseEmitter.event().comment("ping"));
+				}
+				catch (IOException | IllegalStateException exception)
+				{
+					drop(subscriber);
+				}
+			});
+		}
+	}
+
+	/**
+	 * Cierra los hilos de envío al parar la aplicación.
+	 */
+	@PreDestroy
+	public void shutdown()
+	{
+		this.subscribers.forEach(this::drop);
+		this.senders.shutdownNow();
+	}
+
+	/**
+	 * Envía al suscriptor todos sus cambios pendientes.
+	 *
+	 * @param subscriber - El suscriptor.
+	 */
+	private void drain(Subscriber subscriber)
+	{
+		try
+		{
+			for (IssueEvent event : subscriber.takeAll())
+			{
+				IssueEntity issue = event.getCurrent() != null ? event.getCurrent() : event.getPrevious();
+				subscriber.emitter.send(SseEmitter.event()
+						.name(event.getType().name())
+						.data(issue, MediaType.APPLICATION_JSON));
+			}
+		}
+		catch (IOException | IllegalStateException exception)
+		{
+			// El cliente ha cerrado la conexión
+			drop(subscriber);
+		}
+		finally
+		{
+			subscriber.draining.set(false);
+		}
+	}
+
+	/**
+	 * Agrupa dos cambios de una misma incidencia pendientes de enviar.
+	 * Un alta absorbe los cambios siguientes, para que el cliente no reciba cambios de una incidencia que no conoce.
+	 *
+	 * @param earlier     - Cambio pendiente o null si no hay ninguno.
+	 * @param later       - Cambio nuevo.
+	 * @return IssueEvent - Cambio a enviar o null si no hay que enviar nada (alta y borrado).
+	 */
+	static IssueEvent coalesce(IssueEvent earlier, IssueEvent later)
+	{
+		if (earlier == null)
+		{
+			return later;
+		}
+
+		boolean created = earlier.getType() == IssueEvent.Type.CREATED;
+		if (later.getType() == IssueEvent.Type.DELETED)
+		{
+			// Alta y borrado en el mismo envío: el cliente nunca ha tenido la incidencia
+			return created ? null : later;
+		}
+
+		// Un alta sigue siendo un alta con el último estado; el resto toma el tipo del último cambio
+		return new IssueEvent(created ? IssueEvent.Type.CREATED : later.getType(), earlier.getPrevious(),
+				latest(earlier.getCurrent(), later.getCurrent()));
+	}
+
+	/**
+	 * Devuelve el último estado conocido de una incidencia.
+	 * Un cambio de descripción del que solo se conoce la clave (sin estado) se aplica sobre el estado anterior.
+	 *
+	 * @param earlier      - Estado anterior o null si se desconoce.
+	 * @param later        - Estado nuevo.
+	 * @return IssueEntity - Último estado.
+	 */
+	private static IssueEntity latest(IssueEntity earlier, IssueEntity later)
+	{
+		if (earlier == null || later.getStatus() != null)
+		{
+			return later;
+		}
+		return earlier.toBuilder().description(later.getDescription()).build();
+	}
+
+	/**
+	 * Desconecta a un suscriptor.
+	 *
+	 * @param subscriber - El suscriptor.
+	 */
+	private void drop(Subscriber subscriber)
+	{
+		if (this.subscribers.remove(subscriber))
+		{
+			try
+			{
+				subscriber.emitter.complete();
+			}
+			catch (IllegalStateException exception)
+			{
+				// La conexión ya estaba cerrada
+			}
+		}
+	}
+
+	/**
+	 * Class: Subscriber
+	 * Suscriptor con sus filtros y su buffer de cambios pendientes, agrupados por incidencia.
+	 */
+	private static final class Subscriber
+	{
+		// Conexión SSE
+		private final SseEmitter emitter;
+		// Filtros del suscriptor (null si no filtra)
+		private final String professorMail;
+		private final String classNumber;
+		private final String status;
+		// Capacidad del buffer
+		private final int capacity;
+		// Cambios pendientes de cada incidencia agrupados en uno, en orden de llegada
+		private final Map<IdIssue, IssueEvent> pending = new LinkedHashMap<>();
+		// Indica si hay un envío en curso
+		private final AtomicBoolean draining = new AtomicBoolean();
+
+		private Subscriber(SseEmitter emitter, String professorMail, String classNumber, String status, int capacity)
+		{
+			this.emitter = emitter;
+			this.professorMail = professorMail;
+			this.classNumber = classNumber;
+			this.status = status;
+			this.capacity = capacity;
+		}
+
+		/**
+		 * Comprueba si el cambio interesa al suscriptor. Los valores desconocidos no lo descartan.
+		 *
+		 * @param event - El cambio de la incidencia.
+		 * @return true - si el cambio puede cumplir los filtros.
+		 */
+		private boolean matches(IssueEvent event)
+		{
+			return matches(event.getCurrent()) || matches(event.getPrevious());
+		}
+
+		private boolean matches(IssueEntity issue)
+		{
+			return issue != null
+					&& matches(this.professorMail, issue.getProfessorMail())
+					&& matches(this.classNumber, issue.getClassNumber())
+					&& matches(this.status, issue.getStatus());
+		}
+
+		private static boolean matches(String filter, String value)
+		{
+			return filter == null || value == null || Objects.equals(filter, value);
+		}
+
+		/**
+		 * Encola un cambio agrupándolo con el pendiente de la misma incidencia (ver coalesce).
+		 *
+		 * @param event - El cambio de la incidencia.
+		 * @return true - si el buffer no ha superado su capacidad.
+		 */
+		private synchronized boolean offer(IssueEvent event)
+		{
+			IssueEntity issue = event.getCurrent() != null ? event.getCurrent() : event.getPrevious();
+			IdIssue idIssue = new IdIssue(issue.getClassNumber(), issue.getProfessorMail(), issue.getDate());
+
+			// Mover la incidencia al final con sus cambios agrupados
+			IssueEvent coalesced = coalesce(this.pending.remove(idIssue), event);
+			if (coalesced != null)
+			{
+				this.pending.put(idIssue, coalesced);
+			}
+
+			return this.pending.size() <= this.capacity;
+		}
+
+		private synchronized boolean hasPending()
+		{
+			return !this.pending.isEmpty();
+		}
+
+		private synchronized List<IssueEvent> takeAll()
+		{
+			List<IssueEvent> events = new ArrayList<>(this.pending.values());
+			this.pending.clear();
+			return events;
+		}
+	}
+}
@@ -0,0 +1,131 @@
+package es.iesjandula.reaktorissuesserver.events;
+
+import es.iesjandula.reaktorissuesserver.models.IdIssue;
+import es.iesjandula.reaktorissuesserver.models.IssueEntity;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Class: IssueEvent
+ * Clase que representa un cambio en una incidencia, publicado por IssueService tras cada escritura
+ * para que el resto de componentes (caché, etc.) se actualicen sin consultar la base de datos.
+ *
+ * Los campos null de previous y current indican valores desconocidos, no valores vacíos.
+ *
+ * @version 1.0.0
+ *
+ *
+ * @author PabloDev09
+ */
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class IssueEvent
+{
+    /**
+     * Tipo de cambio de la incidencia.
+     */
+    public enum Type
+    {
+        CREATED, UPDATED, STATUS_CHANGED, DELETED
+    }
+
+    // Tipo de cambio
+    private Type type;
+
+    // Estado anterior de la incidencia, null en un alta
+    private IssueEntity previous;
+
+    // Estado nuevo de la incidencia, null en un borrado
+    private IssueEntity current;
+
+    /**
+     * Crea el evento de alta de una incidencia.
+     *
+     * @param issue       - La incidencia insertada.
+     * @return IssueEvent - El evento.
+     */
+    public static IssueEvent created(IssueEntity issue)
+    {
+        return new IssueEvent(Type.CREATED, null, issue);
+    }
+
+    /**
+     * Crea el evento de actualización de la descripción de una incidencia de la que solo se conoce su clave.
+     *
+     * @param idIssue     - La clave natural de la incidencia.
+     * @param description - La nueva descripción.
+     * @return IssueEvent - El evento.
+     */
+    public static IssueEvent updated(IdIssue idIssue, String description)
+    {
+        return new IssueEvent(Type.UPDATED, keyOnly(idIssue), withValues(idIssue, description, null));
+    }
+
+    /**
+     * Crea el evento de actualización de una incidencia de la que se conoce el estado anterior y el nuevo.
+     *
+     * @param previous    - La incidencia antes de actualizarla.
+     * @param current     - La incidencia actualizada.
+     * @return IssueEvent - El evento.
+     */
+    public static IssueEvent updated(IssueEntity previous, IssueEntity current)
+    {
+        return new IssueEvent(Type.UPDATED, previous, current);
+    }
+
+    /**
+     * Crea el evento de cambio de estado de una incidencia.
+     *
+     * @param previous    - La incidencia antes del cambio de estado.
+     * @param current     - La incidencia con el nuevo estado.
+     * @return IssueEvent - El evento.
+     */
+    public static IssueEvent statusChanged(IssueEntity previous, IssueEntity current)
+    {
+        return new IssueEvent(Type.STATUS_CHANGED, previous, current);
+    }
+
+    /**
+     * Crea el evento de borrado de una incidencia.
+     *
+     * @param previous    - La incidencia borrada.
+     * @return IssueEvent - El evento.
+     */
+    public static IssueEvent deleted(IssueEntity previous)
+    {
+        return new IssueEvent(Type.DELETED, previous, null);
+    }
+
+    /**
+     * Crea una incidencia de la que solo se conoce su clave natural.
+     *
+     * @param idIssue      - La clave natural de la incidencia.
+     * @return IssueEntity - La incidencia con el resto de campos desconocidos.
+     */
+    private static IssueEntity keyOnly(IdIssue idIssue)
+    {
+        return withValues(idIssue, null, null);
+    }
+
+    /**
+     * Crea una incidencia con su clave natural y los valores conocidos.
+     *
+     * @param idIssue      - La clave natural de la incidencia.
+     * @param description  - La descripción o null si se desconoce.
+     * @param status       - El estado o null si se desconoce.
+     * @return IssueEntity - La incidencia.
+     */
+    private static IssueEntity withValues(IdIssue idIssue, String description, String status)
+    {
+        return IssueEntity.builder()
+                .classNumber(idIssue.getClassNumber())
+                .professorMail(idIssue.getProfessorMail())
+                .date(idIssue.getDate())
+                .description(description)
+                .status(status)
+                .build();
+    }
+}
@@ -1,33 +1,90 @@
 package es.iesjandula.reaktorissuesserver.exceptions;
 
-import java.io.IOException;
+import org.springframework.http.HttpStatus;
 
-import lombok.extern.slf4j.Slf4j;
+import es.iesjandula.reaktorissuesserver.utils.Constansts;
 
 /**
  * Class: ReaktorIssuesServerException
- * Clase para gestionar errores específicos y registrar advertencias con SLF4J.
- * 
- * @see IOException
- * 
+ * Clase para los errores de dominio de la aplicación, cada uno con su mensaje de Constansts
+ * y el código HTTP con el que se responde (ver IssueExceptionHandler).
+ *
+ * Son errores esperados (incidencia no encontrada, valores incorrectos...), por lo que no capturan
+ * la traza de la pila ni admiten excepciones suprimidas y se crean una única vez: lanzarlos no
+ * tiene más coste que el de cualquier otro retorno. El registro en el log lo hace IssueExceptionHandler.
+ *
+ * @see RuntimeException
+ *
  * @version 1.0.0
- * 
- * 
+ *
+ *
  * @author PabloDev09
- * 
+ *
  */
-
-@Slf4j
-public class ReaktorIssuesServerException extends IOException{
-	
-	
+public class ReaktorIssuesServerException extends RuntimeException
+{
 	// IDE pide indicar el serialUID
 	private static final long serialVersionUID = 1L;
 
-	// Constructor parametrizado
-	public ReaktorIssuesServerException(String msg)
+	// Valores de la incidencia incorrectos
+	public static final ReaktorIssuesServerException INVALID_VALUES =
+			new ReaktorIssuesServerException(Constansts.ERROR_INVALID_VALUES, HttpStatus.UNPROCESSABLE_ENTITY);
+	// Incidencia no encontrada
+	public static final ReaktorIssuesServerException ISSUE_NOT_FOUND =
+			new ReaktorIssuesServerException(Constansts.ERROR_ISSUE_NOT_FOUND, HttpStatus.NOT_FOUND);
+	// Incidencia ya existente
+	public static final ReaktorIssuesServerException ISSUE_EXISTS =
+			new ReaktorIssuesServerException(Constansts.ERROR_ISSUE_EXISTS, HttpStatus.CONFLICT);
+	// Transición de estado no permitida desde el estado actual
+	public static final ReaktorIssuesServerException NOT_CHANGED_STATUS =
+			new ReaktorIssuesServerException(Constansts.ERROR_NOT_CHANGED_STATUS, HttpStatus.CONFLICT);
+	// Token de continuación inválido
+	public static final ReaktorIssuesServerException INVALID_CURSOR =
+			new ReaktorIssuesServerException(Constansts.ERROR_INVALID_CURSOR, HttpStatus.BAD_REQUEST);
+	// Incidencia modificada por otra petición en todos los intentos
+	public static final ReaktorIssuesServerException CONCURRENT_MODIFICATION =
+			new ReaktorIssuesServerException(Constansts.ERROR_CONCURRENT_MODIFICATION, HttpStatus.CONFLICT);
+	// Versión de la incidencia distinta de la indicada en If-Match
+	public static final ReaktorIssuesServerException PRECONDITION_FAILED =
+			new ReaktorIssuesServerException(Constansts.ERROR_PRECONDITION_FAILED, HttpStatus.PRECONDITION_FAILED);
+	// Cola de altas asíncronas llena
+	public static final ReaktorIssuesServerException INGEST_QUEUE_FULL =
+			new ReaktorIssuesServerException(Constansts.ERROR_INGEST_QUEUE_FULL, HttpStatus.TOO_MANY_REQUESTS);
+	// Alta asíncrona desconocida o caducada
+	public static final ReaktorIssuesServerException INGEST_NOT_FOUND =
+			new ReaktorIssuesServerException(Constansts.ERROR_INGEST_NOT_FOUND, HttpStatus.NOT_FOUND);
+	// Lote de cambio de estado vacío o demasiado grande
+	public static final ReaktorIssuesServerException INVALID_BATCH =
+			new ReaktorIssuesServerException(Constansts.ERROR_INVALID_BATCH, HttpStatus.BAD_REQUEST);
+	// Demasiadas peticiones del mismo cliente al mismo endpoint
+	public static final ReaktorIssuesServerException RATE_LIMITED =
+			new ReaktorIssuesServerException(Constansts.ERROR_RATE_LIMITED, HttpStatus.TOO_MANY_REQUESTS);
+	// Demasiadas llamadas a la vez a la base de datos
+	public static final ReaktorIssuesServerException DATABASE_OVERLOADED =
+			new ReaktorIssuesServerException(Constansts.ERROR_DATABASE_OVERLOADED, HttpStatus.SERVICE_UNAVAILABLE);
+
+	// Código HTTP de la respuesta de error
+	private final HttpStatus status;
+
+	/**
+	 * Constructor parametrizado, sin traza de la pila ni excepciones suprimidas.
+	 *
+	 * @param msg    - Mensaje de error, uno de los errores de Constansts.
+	 * @param status - Código HTTP de la respuesta de error.
+	 */
+	public ReaktorIssuesServerException(String msg, HttpStatus status)
+	{
+		super(msg, null, false, false);
+		this.status = status;
+	}
+
+	/**
+	 * Devuelve el código HTTP de la respuesta de error.
+	 *
+	 * @return HttpStatus - Código HTTP.
+	 */
+	public HttpStatus getStatus()
 	{
-		log.error(msg);
+		return this.status;
 	}
-	
 }
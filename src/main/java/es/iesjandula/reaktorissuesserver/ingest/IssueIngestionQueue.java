@@ -0,0 +1,467 @@
+package es.iesjandula.reaktorissuesserver.ingest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import es.iesjandula.reaktorissuesserver.dedup.IssueDeduplicator;
+import es.iesjandula.reaktorissuesserver.dto.IssueEntityDto;
+import es.iesjandula.reaktorissuesserver.dto.IssueIngestStatusDto;
+import es.iesjandula.reaktorissuesserver.exceptions.ReaktorIssuesServerException;
+import es.iesjandula.reaktorissuesserver.models.IdIssue;
+import es.iesjandula.reaktorissuesserver.models.IssueEntity;
+import es.iesjandula.reaktorissuesserver.repository.IIssueRepository;
+import es.iesjandula.reaktorissuesserver.services.IssueService;
+import es.iesjandula.reaktorissuesserver.utils.Constansts;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Class: IssueIngestionQueue
+ * Cola de altas asíncronas de incidencias (write-behind), activada con reaktor.ingest.enabled.
+ *
+ * Cada alta aceptada se escribe en un diario local de solo añadir (una línea JSON por alta) y se encola
+ * en una cola acotada en memoria; si la cola está llena se rechaza con INGEST_QUEUE_FULL (429).
+ * Un único hilo escritor vacía la cola por lotes con IssueService.createAll (inserciones JDBC por lotes),
+ * y trunca el diario cuando la cola queda vacía. Al arrancar, las altas del diario se vuelven a insertar:
+ * las que ya se insertaron antes de la parada se descartan por la restricción única de la clave natural.
+ *
+ * @version 1.0.0
+ *
+ *
+ * @author PabloDev09
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "reaktor.ingest.enabled", havingValue = "true")
+public class IssueIngestionQueue implements SmartInitializingSingleton, DisposableBean
+{
+	@Autowired
+	private IssueService issueService;
+
+	@Autowired
+	private IIssueRepository iIssueRepository;
+
+	@Autowired
+	private IssueDeduplicator issueDeduplicator;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	// Número máximo de altas en cola
+	@Value("${reaktor.ingest.capacity:10000}")
+	private int capacity;
+
+	// Número máximo de altas por lote de inserción
+	@Value("${reaktor.ingest.batch-size:500}")
+	private int batchSize;
+
+	// Fichero del diario de altas pendientes
+	@Value("${reaktor.ingest.journal:ingest.journal}")
+	private Path journalPath;
+
+	// Forzar la escritura del diario en disco antes de aceptar cada alta
+	@Value("${reaktor.ingest.fsync:true}")
+	private boolean fsync;
+
+	// Espera antes de reintentar un lote tras un error de la base de datos
+	@Value("${reaktor.ingest.retry-delay:1s}")
+	private Duration retryDelay;
+
+	// Estado de las altas por identificador de seguimiento
+	private final Cache<String, IssueIngestStatusDto> statuses = Caffeine.newBuilder()
+			.maximumSize(100_000)
+			.expireAfterWrite(Duration.ofHours(1))
+			.build();
+
+	// Bloqueo del diario: las escrituras, el encolado y el truncado no se intercalan
+	private final Object journalLock = new Object();
+
+	// Altas aceptadas pendientes de insertar
+	private BlockingQueue<JournalEntry> queue;
+
+	// Diario de altas pendientes
+	private FileChannel journal;
+
+	// Hilo escritor
+	private Thread writer;
+
+	private volatile boolean running;
+
+	/**
+	 * Abre el diario, recupera las altas pendientes de la parada anterior y arranca el hilo escritor.
+	 */
+	@Override
+	public void afterSingletonsInstantiated()
+	{
+		this.queue = new ArrayBlockingQueue<>(this.capacity);
+		Gauge.builder("reaktor.ingest.queue.size", this.queue, BlockingQueue::size)
+				.description("Altas de incidencias pendientes de insertar")
+				.register(meterRegistry);
+
+		List<JournalEntry> recovered = readJournal();
+		try
+		{
+			this.journal = FileChannel.open(this.journalPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+		}
+		catch (IOException ioException)
+		{
+			throw new UncheckedIOException(ioException);
+		}
+
+		this.running = true;
+		this.writer = new Thread(() -> run(recovered), "issue-ingest-writer");
+		this.writer.setDaemon(true);
+		this.writer.start();
+	}
+
+	/**
+	 * Acepta un alta de incidencia ya validada.
+	 *
+	 * @param issueDto                      - La incidencia a insertar.
+	 * @return String                       - Identificador de seguimiento del alta.
+	 * @throws ReaktorIssuesServerException - Si la cola está llena.
+	 */
+	public String enqueue(IssueEntityDto issueDto) throws ReaktorIssuesServerException
+	{
+		JournalEntry entry = new JournalEntry(UUID.randomUUID().toString(), issueDto);
+		byte[] line = toLine(entry);
+
+		synchronized (this.journalLock)
+		{
+			// Solo este método añade a la cola, así que si hay hueco el add no falla
+			if (this.queue.remainingCapacity() == 0)
+			{
+				throw ReaktorIssuesServerException.INGEST_QUEUE_FULL;
+			}
+
+			append(line);
+			this.statuses.put(entry.getTrackingId(), new IssueIngestStatusDto(entry.getTrackingId(), Constansts.INGEST_PENDING, null));
+			this.queue.add(entry);
+		}
+
+		return entry.getTrackingId();
+	}
+
+	/**
+	 * Devuelve el estado de un alta.
+	 *
+	 * @param trackingId                      - Identificador de seguimiento del alta.
+	 * @return Optional<IssueIngestStatusDto> - El estado, vacío si no se conoce o ha caducado.
+	 */
+	public Optional<IssueIngestStatusDto> getStatus(String trackingId)
+	{
+		return Optional.ofNullable(this.statuses.getIfPresent(trackingId));
+	}
+
+	/**
+	 * Detiene el hilo escritor; las altas que quedan en cola siguen en el diario para el próximo arranque.
+	 */
+	@Override
+	public void destroy() throws Exception
+	{
+		this.running = false;
+		if (this.writer != null)
+		{
+			this.writer.interrupt();
+			this.writer.join(TimeUnit.SECONDS.toMillis(10));
+		}
+		if (this.journal != null)
+		{
+			this.journal.close();
+		}
+	}
+
+	/**
+	 * Bucle del hilo escritor: inserta primero las altas recuperadas y después vacía la cola por lotes.
+	 *
+	 * @param recovered - Altas del diario de la parada anterior.
+	 */
+	private void run(List<JournalEntry> recovered)
+	{
+		List<JournalEntry> batch = new ArrayList<>(this.batchSize);
+
+		try
+		{
+			for (int from = 0; from < recovered.size(); from += this.batchSize)
+			{
+				write(recovered.subList(from, Math.min(from + this.batchSize, recovered.size())));
+			}
+			truncateIfDrained();
+
+			while (this.running)
+			{
+				JournalEntry first = this.queue.poll(1, TimeUnit.SECONDS);
+				if (first == null)
+				{
+					continue;
+				}
+
+				batch.add(first);
+				this.queue.drainTo(batch, this.batchSize - 1);
+				write(batch);
+				batch.clear();
+
+				truncateIfDrained();
+			}
+		}
+		catch (InterruptedException interruptedException)
+		{
+			Thread.currentThread().interrupt();
+		}
+		catch (IOException ioException)
+		{
+			log.error("Error al truncar el diario de altas {}", this.journalPath, ioException);
+		}
+	}
+
+	/**
+	 * Inserta un lote, reintentando mientras la base de datos no esté disponible.
+	 * Mientras tanto la cola se llena y las nuevas altas se rechazan con 429.
+	 *
+	 * @param batch                 - Las altas a insertar.
+	 * @throws InterruptedException - Si se detiene la aplicación durante la espera.
+	 */
+	private void write(List<JournalEntry> batch) throws InterruptedException
+	{
+		while (true)
+		{
+			try
+			{
+				insert(batch);
+				return;
+			}
+			catch (RuntimeException exception)
+			{
+				log.warn("No se ha podido insertar un lote de {} altas, reintentando en {}: {}", batch.size(), this.retryDelay,
+						exception.getMessage());
+				Thread.sleep(this.retryDelay.toMillis());
+			}
+		}
+	}
+
+	/**
+	 * Inserta un lote con una única operación; si alguna incidencia ya existe o es incorrecta,
+	 * inserta las altas una a una para descartar solo esas.
+	 *
+	 * @param batch - Las altas a insertar.
+	 */
+	private void insert(List<JournalEntry> batch)
+	{
+		batch = coalesce(batch);
+		if (batch.isEmpty())
+		{
+			return;
+		}
+
+		try
+		{
+			List<IssueEntity> issues = issueService.createAll(batch.stream().map(JournalEntry::getIssue).toList());
+			for (int i = 0; i < batch.size(); i++)
+			{
+				setStatus(batch.get(i), Constansts.INGEST_CREATED, issues.get(i).getId());
+			}
+		}
+		catch (DataIntegrityViolationException dataIntegrityViolationException)
+		{
+			for (JournalEntry entry : batch)
+			{
+				// Ya insertada en un intento anterior del mismo lote
+				if (getStatus(entry.getTrackingId()).map(status -> Constansts.INGEST_CREATED.equals(status.getStatus())).orElse(false))
+				{
+					continue;
+				}
+
+				try
+				{
+					setStatus(entry, Constansts.INGEST_CREATED, issueService.create(entry.getIssue()).getId());
+				}
+				catch (DataIntegrityViolationException entryException)
+				{
+					IssueEntityDto issueDto = entry.getIssue();
+					boolean exists = iIssueRepository.existsByIdIssue(new IdIssue(issueDto.getClassNumDto(), issueDto.getProfMailDto(), issueDto.getDateDto()));
+					setStatus(entry, exists ? Constansts.INGEST_DUPLICATE : Constansts.INGEST_FAILED, null);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Añade como aviso las altas repetidas de una incidencia abierta parecida (IssueDeduplicator).
+	 * Las altas repetidas dentro del mismo lote no se detectan entre sí.
+	 *
+	 * @param batch               - Las altas del lote.
+	 * @return List<JournalEntry> - Las altas que hay que insertar.
+	 */
+	private List<JournalEntry> coalesce(List<JournalEntry> batch)
+	{
+		List<JournalEntry> pending = new ArrayList<>(batch.size());
+		for (JournalEntry entry : batch)
+		{
+			// Ya añadida como aviso en un intento anterior del mismo lote
+			if (getStatus(entry.getTrackingId()).map(status -> Constansts.INGEST_MERGED.equals(status.getStatus())).orElse(false))
+			{
+				continue;
+			}
+
+			Optional<Long> duplicateId = issueDeduplicator.findDuplicate(entry.getIssue());
+			if (duplicateId.isPresent())
+			{
+				issueDeduplicator.attach(duplicateId.get(), entry.getIssue());
+				setStatus(entry, Constansts.INGEST_MERGED, duplicateId.get());
+			}
+			else
+			{
+				pending.add(entry);
+			}
+		}
+		return pending;
+	}
+
+	private void setStatus(JournalEntry entry, String status, Long issueId)
+	{
+		this.statuses.put(entry.getTrackingId(), new IssueIngestStatusDto(entry.getTrackingId(), status, issueId));
+	}
+
+	/**
+	 * Trunca el diario si no queda ningún alta en cola: todas las escritas en él ya están insertadas.
+	 *
+	 * @throws IOException - Si no se puede truncar el diario.
+	 */
+	private void truncateIfDrained() throws IOException
+	{
+		synchronized (this.journalLock)
+		{
+			if (this.queue.isEmpty())
+			{
+				this.journal.truncate(0);
+			}
+		}
+	}
+
+	/**
+	 * Añade una línea al diario y, si está configurado, la fuerza a disco.
+	 *
+	 * @param line - La línea codificada.
+	 */
+	private void append(byte[] line)
+	{
+		try
+		{
+			ByteBuffer buffer = ByteBuffer.wrap(line);
+			while (buffer.hasRemaining())
+			{
+				this.journal.write(buffer);
+			}
+			if (this.fsync)
+			{
+				this.journal.force(false);
+			}
+		}
+		catch (IOException ioException)
+		{
+			throw new UncheckedIOException(ioException);
+		}
+	}
+
+	private byte[] toLine(JournalEntry entry)
+	{
+		try
+		{
+			return (objectMapper.writeValueAsString(entry) + '\n').getBytes(StandardCharsets.UTF_8);
+		}
+		catch (JsonProcessingException jsonProcessingException)
+		{
+			throw new IllegalStateException(jsonProcessingException);
+		}
+	}
+
+	/**
+	 * Lee las altas pendientes del diario. Una última línea incompleta (parada durante la escritura) se descarta.
+	 *
+	 * @return List<JournalEntry> - Las altas pendientes.
+	 */
+	private List<JournalEntry> readJournal()
+	{
+		List<JournalEntry> entries = new ArrayList<>();
+		if (!Files.exists(this.journalPath))
+		{
+			return entries;
+		}
+
+		try (BufferedReader reader = Files.newBufferedReader(this.journalPath, StandardCharsets.UTF_8))
+		{
+			String line;
+			while ((line = reader.readLine()) != null)
+			{
+				try
+				{
+					JournalEntry entry = objectMapper.readValue(line, JournalEntry.class);
+					this.statuses.put(entry.getTrackingId(), new IssueIngestStatusDto(entry.getTrackingId(), Constansts.INGEST_PENDING, null));
+					entries.add(entry);
+				}
+				catch (JsonProcessingException jsonProcessingException)
+				{
+					log.warn("Descartada una línea incorrecta del diario de altas {}", this.journalPath);
+				}
+			}
+		}
+		catch (IOException ioException)
+		{
+			throw new UncheckedIOException(ioException);
+		}
+
+		log.info("Recuperadas {} altas pendientes del diario {}", entries.size(), this.journalPath);
+		return entries;
+	}
+
+	/**
+	 * Class: JournalEntry
+	 * Alta aceptada con su identificador de seguimiento, tal y como se escribe en el diario.
+	 */
+	@Data
+	@AllArgsConstructor
+	@NoArgsConstructor
+	public static class JournalEntry
+	{
+		// Identificador de seguimiento del alta
+		private String trackingId;
+
+		// La incidencia a insertar
+		private IssueEntityDto issue;
+	}
+}
@@ -0,0 +1,63 @@
+package es.iesjandula.reaktorissuesserver.metrics;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.servlet.ModelAndView;
+
+import es.iesjandula.reaktorissuesserver.exceptions.ReaktorIssuesServerException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Class: IssueErrorMetricsResolver
+ * Cuenta los errores de los endpoints en la métrica reaktor.issues.errors, etiquetada por motivo
+ * (uno de los errores de Constansts) y por tipo de excepción.
+ *
+ * Se ejecuta antes que el resto de resolvers y no resuelve la excepción (devuelve null),
+ * de forma que la respuesta de error no cambia.
+ *
+ * @version 1.0.0
+ *
+ *
+ * @author PabloDev09
+ */
+@Component
+public class IssueErrorMetricsResolver implements HandlerExceptionResolver, Ordered
+{
+	// Nombre de la métrica de errores
+	public static final String ERRORS_METRIC = "reaktor.issues.errors";
+
+	// Motivo de los errores no previstos, para no crear una serie por mensaje
+	private static final String UNEXPECTED_REASON = "unexpected";
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Override
+	public ModelAndView resolveException(HttpServletRequest request, HttpServletResponse response, Object handler, Exception exception)
+	{
+		// Solo los errores propios tienen un motivo acotado
+		String reason = exception instanceof ReaktorIssuesServerException && exception.getMessage() != null
+				? exception.getMessage() : UNEXPECTED_REASON;
+
+		Counter.builder(ERRORS_METRIC)
+				.description("Errores de los endpoints de incidencias por motivo")
+				.tag("reason", reason)
+				.tag("exception", exception.getClass().getSimpleName())
+				.register(meterRegistry)
+				.increment();
+
+		// Dejar que el siguiente resolver genere la respuesta
+		return null;
+	}
+
+	@Override
+	public int getOrder()
+	{
+		return Ordered.HIGHEST_PRECEDENCE;
+	}
+}
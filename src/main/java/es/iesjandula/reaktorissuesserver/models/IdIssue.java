@@ -8,7 +8,7 @@ import lombok.NoArgsConstructor;
 
 /**
  * Class: IdIssue
- * Clase que representa la clave primaria compuesta de la entidad IssueEntity.
+ * Clase que representa la clave natural (classNumber, professorMail, date) de la entidad IssueEntity.
  * 
  * @version 1.0.0
  * 
@@ -0,0 +1,93 @@
+package es.iesjandula.reaktorissuesserver.models;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Class: IssueArchiveEntity
+ * Clase para representar una incidencia cerrada (Finished o Canceled) archivada fuera de la tabla Issue
+ * por IssueArchiver. La tabla se particiona por año de la fecha (ver db/migration).
+ *
+ * @version 1.0.0
+ *
+ *
+ * @author PabloDev09
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@IdClass(IssueArchiveId.class)
+@Table(name = "IssueArchive", indexes = {
+		// Búsqueda por clave natural (classNumber, professorMail, date)
+		@Index(name = "idx_issue_archive_natural_key", columnList = "classNumber, professorMail, date"),
+		// Filtro por estado en el orden de la paginación (date, classNumber, professorMail)
+		@Index(name = "idx_issue_archive_status_date", columnList = "status, date, classNumber, professorMail")
+})
+public class IssueArchiveEntity implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Identificador que tenía la incidencia en la tabla Issue.
+     */
+    @Id
+    private Long id;
+
+    /**
+     * Fecha de la incidencia, parte de la clave natural y columna de partición.
+     */
+    @Id
+    @Column(nullable = false)
+    private LocalDateTime date;
+
+    @Column(nullable = false, length = 50)
+    private String classNumber;
+
+    @Column(nullable = false, length = 100)
+    private String professorMail;
+
+    @Column
+    private String description;
+
+    @Column
+    private String status;
+
+    @Column
+    private LocalDateTime finishDate;
+
+    /**
+     * Fecha en la que se archivó la incidencia.
+     */
+    @Column(nullable = false)
+    private LocalDateTime archivedDate;
+
+    /**
+     * Devuelve la incidencia archivada como IssueEntity, para devolverla junto a las incidencias no archivadas.
+     *
+     * @return IssueEntity - La incidencia.
+     */
+    public IssueEntity toIssue()
+    {
+        return IssueEntity.builder()
+                .id(this.id)
+                .classNumber(this.classNumber)
+                .professorMail(this.professorMail)
+                .date(this.date)
+                .description(this.description)
+                .status(this.status)
+                .finishDate(this.finishDate)
+                .build();
+    }
+
+}
@@ -0,0 +1,32 @@
+package es.iesjandula.reaktorissuesserver.models;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Class: IssueArchiveId
+ * Clase que representa la clave primaria (id, date) de la entidad IssueArchiveEntity.
+ * La fecha forma parte de la clave porque MySQL exige que la columna de partición esté en la clave primaria.
+ *
+ * @version 1.0.0
+ *
+ *
+ * @author PabloDev09
+ */
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class IssueArchiveId implements Serializable
+{
+	private static final long serialVersionUID = 1L;
+
+	// Identificador que tenía la incidencia en la tabla Issue
+	private Long id;
+	// Fecha de la incidencia, columna de partición
+	private LocalDateTime date;
+}
@@ -5,10 +5,16 @@ import java.time.LocalDateTime;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.IdClass;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
+import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
@@ -23,24 +29,43 @@ import lombok.NoArgsConstructor;
  */
 @Entity
 @Data
+@Builder(toBuilder = true)
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "Issue")
-@IdClass(IdIssue.class)
+@Table(name = "Issue", uniqueConstraints = {
+		// Clave natural (classNumber, professorMail, date), antigua clave primaria
+		@UniqueConstraint(name = "uk_issue_natural_key", columnNames = {"classNumber", "professorMail", "date"})
+}, indexes = {
+		// Filtro por estado en el orden de la paginación (date, classNumber, professorMail), ver db/migration/V2
+		@Index(name = "idx_issue_status_date", columnList = "status, date, classNumber, professorMail"),
+		// Incidencias de un profesor en el orden de la paginación
+		@Index(name = "idx_issue_professor_date", columnList = "professorMail, date, classNumber"),
+		// Incidencias de una clase por estado, en el orden de la paginación
+		@Index(name = "idx_issue_class_status", columnList = "classNumber, status, date, professorMail")
+})
 public class IssueEntity implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
     /**
-     * Clave primaria compuesta (classNumber, professorMail, date).
+     * Clave primaria numérica generada por secuencia.
+     * Se reservan bloques de identificadores para no consultar la secuencia en cada alta.
      */
     @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "issue_seq")
+    @SequenceGenerator(name = "issue_seq", sequenceName = "issue_seq", allocationSize = 50)
+    private Long id;
+
+    /**
+     * Clave natural (classNumber, professorMail, date), ver IdIssue.
+     */
+    @Column(nullable = false, length = 50)
     private String classNumber;
 
-    @Id
+    @Column(nullable = false, length = 100)
     private String professorMail;
 
-    @Id
+    @Column(nullable = false)
     private LocalDateTime date;
 
     @Column
@@ -49,5 +74,19 @@ public class IssueEntity implements Serializable {
     @Column
     private String status;
 
+    /**
+     * Fecha en la que la incidencia pasó a Finished, null si no está finalizada.
+     */
+    @Column
+    private LocalDateTime finishDate;
+
+    /**
+     * Versión de la incidencia, se incrementa en cada escritura.
+     * Se devuelve como ETag y se compara con la cabecera If-Match en las actualizaciones.
+     */
+    @Version
+    @Column(nullable = false)
+    private long version;
+
 }
 
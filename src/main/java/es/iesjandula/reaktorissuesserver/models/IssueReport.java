@@ -0,0 +1,60 @@
+package es.iesjandula.reaktorissuesserver.models;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Class: IssueReport
+ * Clase para representar un aviso de una incidencia ya abierta: otro profesor (o el mismo) ha reportado
+ * la misma avería en la misma clase y, en lugar de crear otra incidencia, el aviso se adjunta a la existente.
+ *
+ * @version 1.0.0
+ *
+ *
+ * @author PabloDev09
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "IssueReport", indexes = {
+		// Avisos de una incidencia por fecha
+		@Index(name = "idx_issue_report_issue_date", columnList = "issueId, date")
+})
+public class IssueReport implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "issue_report_seq")
+    @SequenceGenerator(name = "issue_report_seq", sequenceName = "issue_report_seq", allocationSize = 50)
+    private Long id;
+
+    /**
+     * Identificador de la incidencia a la que se adjunta el aviso.
+     */
+    @Column(nullable = false)
+    private Long issueId;
+
+    @Column(nullable = false, length = 100)
+    private String professorMail;
+
+    @Column(nullable = false)
+    private LocalDateTime date;
+
+    @Column
+    private String description;
+
+}
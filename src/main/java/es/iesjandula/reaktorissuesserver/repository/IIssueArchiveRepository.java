@@ -0,0 +1,73 @@
+package es.iesjandula.reaktorissuesserver.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import es.iesjandula.reaktorissuesserver.models.IdIssue;
+import es.iesjandula.reaktorissuesserver.models.IssueArchiveEntity;
+import es.iesjandula.reaktorissuesserver.models.IssueArchiveId;
+import es.iesjandula.reaktorissuesserver.utils.Constansts;
+
+/**
+ * Class: IIssueArchiveRepository
+ * Clase de Repository para las incidencias archivadas (IssueArchiveEntity).
+ * Las incidencias archivadas son de solo lectura: solo IssueArchiver las inserta.
+ *
+ * @version 1.0.0
+ *
+ *
+ * @author PabloDev09
+ */
+@Repository
+public interface IIssueArchiveRepository extends JpaRepository<IssueArchiveEntity, IssueArchiveId>
+{
+    /**
+     * Busca una incidencia archivada por su clave natural.
+     *
+     * @param idIssue                       - La clave natural de la incidencia.
+     * @return Optional<IssueArchiveEntity> - La incidencia archivada si existe.
+     */
+    default Optional<IssueArchiveEntity> findByIdIssue(IdIssue idIssue)
+    {
+    	return findByClassNumberAndProfessorMailAndDate(idIssue.getClassNumber(), idIssue.getProfessorMail(), idIssue.getDate());
+    }
+
+    Optional<IssueArchiveEntity> findByClassNumberAndProfessorMailAndDate(String classNumber, String professorMail, LocalDateTime date);
+
+    Optional<IssueArchiveEntity> findFirstById(Long id);
+
+    /**
+     * Devuelve la fecha más reciente de las incidencias archivadas.
+     *
+     * @return LocalDateTime - La fecha, null si no hay incidencias archivadas.
+     */
+    @Query("SELECT MAX(a.date) FROM IssueArchiveEntity a")
+    LocalDateTime findMaxDate();
+
+    /**
+     * Copia incidencias de la tabla Issue al archivo con una única sentencia INSERT ... SELECT.
+     *
+     * @param ids          - Los identificadores de las incidencias.
+     * @param archivedDate - La fecha de archivado.
+     * @return int         - Número de incidencias copiadas.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO issue_archive (id, class_number, professor_mail, date, description, status, finish_date, archived_date) " +
+    			   "SELECT id, class_number, professor_mail, date, description, status, finish_date, ?2 FROM issue WHERE id IN ?1", nativeQuery = true)
+    int copyFromIssues(Collection<Long> ids, LocalDateTime archivedDate);
+
+    @Query("SELECT a.classNumber, a.professorMail, a.status, COUNT(a) FROM IssueArchiveEntity a " +
+    	   "GROUP BY a.classNumber, a.professorMail, a.status")
+    List<Object[]> countByClassNumberAndProfessorMailAndStatus();
+
+    @Query(value = "SELECT COUNT(*), COALESCE(SUM(TIMESTAMPDIFF(SECOND, a.date, a.finish_date)), 0) FROM issue_archive a " +
+    			   "WHERE a.status = '" + Constansts.STATUS_FINISHED + "' AND a.finish_date IS NOT NULL", nativeQuery = true)
+    List<Object[]> sumFinishTimes();
+}
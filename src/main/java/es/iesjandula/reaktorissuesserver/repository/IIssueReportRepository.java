@@ -0,0 +1,31 @@
+package es.iesjandula.reaktorissuesserver.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import es.iesjandula.reaktorissuesserver.models.IssueReport;
+
+/**
+ * Class: IIssueReportRepository
+ * Clase de Repository para los avisos adjuntos a incidencias (IssueReport).
+ *
+ * @version 1.0.0
+ *
+ *
+ * @author PabloDev09
+ */
+@Repository
+public interface IIssueReportRepository extends JpaRepository<IssueReport, Long>
+{
+    List<IssueReport> findByIssueIdOrderByDate(Long issueId);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IssueReport r WHERE r.issueId = ?1")
+    int deleteByIssueId(Long issueId);
+}
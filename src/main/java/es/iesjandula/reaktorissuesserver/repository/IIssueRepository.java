@@ -3,112 +3,269 @@ package es.iesjandula.reaktorissuesserver.repository;
 import es.iesjandula.reaktorissuesserver.dto.IssueEntityDto;
 import es.iesjandula.reaktorissuesserver.models.*;
 import es.iesjandula.reaktorissuesserver.utils.Constansts;
+import es.iesjandula.reaktorissuesserver.utils.IssueStatusTransitions;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
-import java.util.function.Function;
-import org.springframework.data.domain.Example;
+import java.util.Set;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.LockModeType;
 
 /**
  * Class: IIssueRepository
  * Clase de Repository para gestionar las operaciones de acceso a datos de la entidad Issue.
- * 
+ *
+ * Las operaciones de escritura se resuelven con una única sentencia cada una, usando el número
+ * de filas afectadas (o la restricción única de la clave natural) en lugar de consultar antes si existe.
+ * Las escrituras por identificador están condicionadas al estado leído (compare-and-set), de forma que
+ * quien escribe conoce el estado anterior de la incidencia sin bloquear la fila.
+ *
  * @version 1.0.0
- * 
- * 
+ *
+ *
  * @author PabloDev09
  */
 @Repository
-public interface IIssueRepository extends JpaRepository<IssueEntity, IdIssue>
+public interface IIssueRepository extends JpaRepository<IssueEntity, Long>, IIssueRepositoryCustom
 {
 
     /**
-     * Cambia el estado de la Issue a un estado.
-     * Busca la Issue por su id y actualiza su estado.
-     * 
-     * @param idIssueDto - El id de la Issue a cambiar estado.
-     * @param statDto    - El estado a cambiar
+     * Cambia el estado de varias incidencias con una única sentencia UPDATE.
+     * Solo se modifican las incidencias cuyo estado actual es un origen válido del estado destino.
+     *
+     * @param ids     - Los identificadores de las incidencias.
+     * @param statDto - El estado a cambiar
+     * @param now     - Fecha del cambio, que se guarda como fecha de finalización al pasar a Finished.
+     * @return int    - Número de incidencias que han cambiado de estado.
      */
-    default boolean changeStatus(IdIssue idIssueDto, String statDto)
+    default int changeStatus(Collection<Long> ids, String statDto, LocalDateTime now)
     {
-    	// Variable para controlar si se ha cambiado el estado
-    	boolean isChangeStatus = false;
+    	// Estados desde los que se puede llegar al estado por parametro
+    	Set<String> sources = IssueStatusTransitions.sourcesOf(statDto);
     	
-    	// Si el estado por parametro es To Do
-        if(statDto.equals(Constansts.STATUS_TO_DO))
-        {
-        	// Cambiar estado a To Do
-        	findById(idIssueDto).get().setStatus(Constansts.STATUS_TO_DO);
-        	// Si ha cambiado de estado devolver true
-        	return !isChangeStatus;
-        }
-        
-        // Si el estado por parametro es Canceled
-        if(statDto.equals(Constansts.STATUS_CANCELED))
-        {
-        	// Cambiar estado a Canceled
-        	findById(idIssueDto).get().setStatus(Constansts.STATUS_CANCELED);
-        	// Si ha cambiado de estado devolver true
-        	return !isChangeStatus;
-        }
-        
-        // Si el estado por parametro es Finished
-        if(statDto.equals(Constansts.STATUS_FINISHED))
-        {
-        	// Cambiar estado a Finished
-        	findById(idIssueDto).get().setStatus(Constansts.STATUS_FINISHED);
-        	// Si ha cambiado de estado devolver true
-        	return !isChangeStatus;
-        }
-        
-        // Si el estado por parametro es In Process
-        if(statDto.equals(Constansts.STATUS_IN_PROCESS))
-        {
-        	// Cambiar estado a In Process
-        	findById(idIssueDto).get().setStatus(Constansts.STATUS_IN_PROCESS);
-        	// Si ha cambiado de estado devolver true
-        	return !isChangeStatus;
-        }
-       
-        // Si no se ha cambiado el estado devolver false
-        return isChangeStatus;
+    	// Si no hay incidencias o el estado no es válido no se cambia ninguna
+    	if(ids.isEmpty() || sources.isEmpty())
+    	{
+    		return 0;
+    	}
+    	
+    	// Al finalizar se guarda la fecha de finalización; con cualquier otro estado se borra
+    	return updateStatusByIds(ids, statDto, IssueStatusTransitions.finishDate(statDto, now), sources);
+    }
+
+    /**
+     * Busca una incidencia por su clave natural.
+     *
+     * @param idIssue                - La clave natural de la incidencia.
+     * @return Optional<IssueEntity> - La incidencia si existe.
+     */
+    default Optional<IssueEntity> findByIdIssue(IdIssue idIssue)
+    {
+    	return findByClassNumberAndProfessorMailAndDate(idIssue.getClassNumber(), idIssue.getProfessorMail(), idIssue.getDate());
     }
 
-    Optional<IssueEntity> findById(IdIssue idIssueDto);
+    /**
+     * Comprueba si existe una incidencia con la clave natural indicada.
+     *
+     * @param idIssue - La clave natural de la incidencia.
+     * @return true   - si existe; false en caso contrario.
+     */
+    default boolean existsByIdIssue(IdIssue idIssue)
+    {
+    	return existsByClassNumberAndProfessorMailAndDate(idIssue.getClassNumber(), idIssue.getProfessorMail(), idIssue.getDate());
+    }
+
+    /**
+     * Actualiza la descripción de una incidencia por su clave natural con una única sentencia UPDATE.
+     *
+     * @param idIssue     - La clave natural de la incidencia.
+     * @param description - La nueva descripción, null para no modificarla.
+     * @return true       - si se ha actualizado la incidencia; false si no existía.
+     */
+    default boolean updateDescription(IdIssue idIssue, String description)
+    {
+    	return updateDescription(idIssue.getClassNumber(), idIssue.getProfessorMail(), idIssue.getDate(), description) == 1;
+    }
+
+    Optional<IssueEntity> findByClassNumberAndProfessorMailAndDate(String classNumber, String professorMail, LocalDateTime date);
+
+    boolean existsByClassNumberAndProfessorMailAndDate(String classNumber, String professorMail, LocalDateTime date);
+
+    /**
+     * Busca las incidencias con alguno de los estados indicados.
+     *
+     * @param statuses           - Los estados.
+     * @return List<IssueEntity> - Las incidencias.
+     */
+    List<IssueEntity> findByStatusIn(Collection<String> statuses);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE IssueEntity i SET i.description = COALESCE(?4, i.description), i.version = i.version + 1 " +
+    	   "WHERE i.classNumber = ?1 AND i.professorMail = ?2 AND i.date = ?3")
+    int updateDescription(String classNumber, String professorMail, LocalDateTime date, String description);
+
+    /**
+     * Cambia el estado de una incidencia solo si su versión actual es la esperada, e incrementa la versión.
+     * Vacía el contexto de persistencia para que la siguiente lectura no devuelva la incidencia anterior.
+     *
+     * @return int - 1 si se ha cambiado; 0 si no existe o su versión ya no es la esperada.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE IssueEntity i SET i.status = ?2, i.finishDate = ?3, i.version = i.version + 1 WHERE i.id = ?1 AND i.version = ?4")
+    int compareAndSetStatus(Long id, String status, LocalDateTime finishDate, long expectedVersion);
+
+    /**
+     * Actualiza la descripción y el estado de una incidencia solo si su versión actual es la esperada, e incrementa la versión.
+     *
+     * @return int - 1 si se ha actualizado; 0 si no existe o su versión ya no es la esperada.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE IssueEntity i SET i.description = COALESCE(?2, i.description), i.status = ?3, i.finishDate = ?4, " +
+    	   "i.version = i.version + 1 WHERE i.id = ?1 AND i.version = ?5")
+    int compareAndUpdate(Long id, String description, String status, LocalDateTime finishDate, long expectedVersion);
+
+    /**
+     * Borra una incidencia solo si su versión actual es la esperada.
+     *
+     * @return int - 1 si se ha borrado; 0 si no existe o su versión ya no es la esperada.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM IssueEntity i WHERE i.id = ?1 AND i.version = ?2")
+    int compareAndDelete(Long id, long expectedVersion);
+
+    /**
+     * Bloquea hasta el commit las incidencias indicadas (SELECT ... FOR UPDATE), para cambiarlas en lote
+     * sabiendo su estado anterior.
+     *
+     * @param ids                - Identificadores de las incidencias.
+     * @return List<IssueEntity> - Las incidencias que existen.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM IssueEntity i WHERE i.id IN ?1")
+    List<IssueEntity> lockAllById(Collection<Long> ids);
 
+    /**
+     * Cambia el estado de varias incidencias con una única sentencia, solo las que están en alguno de los
+     * estados origen permitidos, e incrementa su versión.
+     *
+     * @return int - Número de incidencias cambiadas.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE IssueEntity i SET i.status = ?2, i.finishDate = ?3, i.version = i.version + 1 WHERE i.id IN ?1 AND i.status IN ?4")
+    int updateStatusByIds(Collection<Long> ids, String status, LocalDateTime finishDate, Collection<String> sources);
+
+    /**
+     * Bloquea hasta el commit las incidencias cerradas anteriores a una fecha, para archivarlas
+     * sin que cambien de estado entre la copia al archivo y el borrado.
+     *
+     * @param statuses    - Los estados cerrados.
+     * @param cutoff      - Fecha límite, se devuelven las incidencias anteriores.
+     * @param limit       - Número máximo de incidencias.
+     * @return List<Long> - Identificadores de las incidencias bloqueadas.
+     */
+    @Query(value = "SELECT id FROM issue WHERE status IN ?1 AND date < ?2 ORDER BY id LIMIT ?3 FOR UPDATE", nativeQuery = true)
+    List<Long> lockClosedBefore(Collection<String> statuses, LocalDateTime cutoff, int limit);
+
+    /**
+     * Busca incidencias por las palabras de su descripción en el índice FULLTEXT ft_issue_description
+     * (ver db/migration), ordenadas por relevancia.
+     * La intercalación de la columna hace que la búsqueda no distinga mayúsculas ni acentos.
+     *
+     * @param query              - Palabras a buscar.
+     * @param limit              - Número máximo de incidencias.
+     * @param offset             - Número de incidencias a saltar.
+     * @return List<IssueEntity> - Incidencias de la página, de mayor a menor relevancia.
+     */
+    @Query(value = "SELECT * FROM issue i WHERE MATCH(i.description) AGAINST (?1 IN NATURAL LANGUAGE MODE) " +
+    			   "ORDER BY MATCH(i.description) AGAINST (?1 IN NATURAL LANGUAGE MODE) DESC, i.id LIMIT ?2 OFFSET ?3", nativeQuery = true)
+    List<IssueEntity> searchByDescription(String query, int limit, int offset);
+
+    /**
+     * Cuenta las incidencias por clase, profesor y estado con una única consulta agrupada.
+     *
+     * @return List<Object[]> - Filas con classNumber, professorMail, status y el número de incidencias.
+     */
+    @Query("SELECT i.classNumber, i.professorMail, i.status, COUNT(i) FROM IssueEntity i " +
+    	   "GROUP BY i.classNumber, i.professorMail, i.status")
+    List<Object[]> countByClassNumberAndProfessorMailAndStatus();
+
+    /**
+     * Suma el tiempo de resolución de las incidencias finalizadas con fecha de finalización.
+     *
+     * @return List<Object[]> - Una fila con el número de incidencias y la suma de segundos hasta su finalización.
+     */
+    @Query(value = "SELECT COUNT(*), COALESCE(SUM(TIMESTAMPDIFF(SECOND, i.date, i.finish_date)), 0) FROM issue i " +
+    			   "WHERE i.status = '" + Constansts.STATUS_FINISHED + "' AND i.finish_date IS NOT NULL", nativeQuery = true)
+    List<Object[]> sumFinishTimes();
 
 	/**
      * Crea un objeto del tipo IssueEntity con los valores recogidos del IssueEntityDto
-     * Actualiza o guarda los valores de la incidencia correspondiente
-     * 
-     * @param issueDto - El objeto IssueEntityDto
+     * y lo inserta con una única sentencia INSERT.
+     * Si ya existe una incidencia con la misma clave natural, la restricción única
+     * hace fallar la inserción con DataIntegrityViolationException.
+     *
+     * @param issueDto      - El objeto IssueEntityDto
+     * @return IssueEntity  - La incidencia insertada con su identificador
      */
-	default void saveAndFlush(IssueEntityDto issueDto)
+	default IssueEntity saveAndFlush(IssueEntityDto issueDto)
+	{
+		return saveAndFlush(toEntity(issueDto));
+	}
+
+	/**
+	 * Inserta varias incidencias en la misma transacción.
+	 * Con hibernate.jdbc.batch_size y order_inserts las inserciones se agrupan en lotes JDBC,
+	 * de forma que varias incidencias comparten el mismo viaje a la base de datos.
+	 *
+	 * @param issueDtos          - Las incidencias a insertar
+	 * @return List<IssueEntity> - Las incidencias insertadas con su identificador
+	 */
+	@Transactional
+	default List<IssueEntity> insertAll(List<IssueEntityDto> issueDtos)
 	{
-		IssueEntity issue = 
-				new IssueEntity
-				(
-				issueDto.getClassNumDto(), 
-				issueDto.getProfMailDto(), 
-				issueDto.getDateDto(), 
-				issueDto.getDescDto(), 
-				issueDto.getStatDto()
-				);
-	}	
-		
-	@Query("SELECT i FROM IssueEntity i WHERE " +
-		           "(?1 IS NULL OR i.classNum = ?1) AND " +  // Filtro por número de clase
-		           "(?2 IS NULL OR i.profMail = ?2) AND " +  // Filtro por correo de profesor
-		           "(?3 IS NULL OR i.date = ?3) AND " +      // Filtro por fecha
-		           "(?4 IS NULL OR i.desc = ?4) AND " +      // Filtro por descripción
-		           "(?5 IS NULL OR i.status = ?5)")          // Filtro por estado
-		    List<IssueEntity> findByFilters(String classNum, String profMail, LocalDateTime date, String desc, String status);
-
-	
+		List<IssueEntity> issues = new ArrayList<>(issueDtos.size());
+		for (IssueEntityDto issueDto : issueDtos)
+		{
+			issues.add(toEntity(issueDto));
+		}
 
+		return saveAllAndFlush(issues);
+	}
 
+	/**
+	 * Crea un objeto del tipo IssueEntity con los valores recogidos del IssueEntityDto.
+	 * La fecha se trunca a microsegundos, la precisión de la columna (DATETIME(6)), para que la incidencia
+	 * insertada y notificada tenga la misma clave natural que la que se lee después de la base de datos.
+	 * No se conoce cuándo se finalizaron las incidencias importadas como Finished, así que se insertan sin fecha
+	 * de finalización y no cuentan en el tiempo medio de resolución.
+	 *
+	 * @param issueDto      - El objeto IssueEntityDto
+	 * @return IssueEntity  - La incidencia sin identificador
+	 */
+	private static IssueEntity toEntity(IssueEntityDto issueDto)
+	{
+		return IssueEntity.builder()
+				.classNumber(issueDto.getClassNumDto())
+				.professorMail(issueDto.getProfMailDto())
+				.date(issueDto.getDateDto() != null ? issueDto.getDateDto().truncatedTo(ChronoUnit.MICROS) : null)
+				.description(issueDto.getDescDto())
+				.status(issueDto.getStatDto())
+				.build();
+	}
 }
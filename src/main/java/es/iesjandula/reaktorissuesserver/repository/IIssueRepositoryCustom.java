@@ -0,0 +1,51 @@
+package es.iesjandula.reaktorissuesserver.repository;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import es.iesjandula.reaktorissuesserver.dto.IssueEntityDto;
+import es.iesjandula.reaktorissuesserver.models.IdIssue;
+import es.iesjandula.reaktorissuesserver.models.IssueEntity;
+
+/**
+ * Class: IIssueRepositoryCustom
+ * Interfaz con las consultas de filtrado dinámico de incidencias.
+ * Solo se generan predicados para los filtros informados, de forma que el optimizador
+ * puede elegir los índices declarados en IssueEntity.
+ *
+ * @version 1.0.0
+ *
+ *
+ * @author PabloDev09
+ */
+public interface IIssueRepositoryCustom
+{
+	/**
+	 * Devuelve todas las incidencias que coinciden con los filtros informados.
+	 *
+	 * @param filters            - Incidencia con los filtros a aplicar (los campos null o en blanco se ignoran).
+	 * @return List<IssueEntity> - Incidencias filtradas.
+	 */
+	List<IssueEntity> findByFilters(IssueEntityDto filters);
+
+	/**
+	 * Devuelve una página de incidencias filtradas usando paginación por clave (keyset).
+	 * Las incidencias se ordenan por (date, classNumber, professorMail) y solo se devuelven
+	 * las posteriores a la posición del cursor, sin recorrer las páginas anteriores.
+	 *
+	 * @param filters            - Incidencia con los filtros a aplicar (los campos null o en blanco se ignoran).
+	 * @param after              - Posición de la última incidencia devuelta, null en la primera página.
+	 * @param limit              - Número máximo de incidencias a devolver.
+	 * @return List<IssueEntity> - Incidencias de la página.
+	 */
+	List<IssueEntity> findPageByFilters(IssueEntityDto filters, IdIssue after, int limit);
+
+	/**
+	 * Devuelve las incidencias filtradas como un Stream leído por lotes desde la base de datos.
+	 * Debe consumirse dentro de una transacción y cerrarse al terminar.
+	 *
+	 * @param filters              - Incidencia con los filtros a aplicar (los campos null o en blanco se ignoran).
+	 * @return Stream<IssueEntity> - Incidencias filtradas.
+	 */
+	Stream<IssueEntity> streamByFilters(IssueEntityDto filters);
+}
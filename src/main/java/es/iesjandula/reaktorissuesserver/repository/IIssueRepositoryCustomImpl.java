@@ -0,0 +1,243 @@
+package es.iesjandula.reaktorissuesserver.repository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.annotation.Transactional;
+
+import es.iesjandula.reaktorissuesserver.archive.ArchiveHorizon;
+import es.iesjandula.reaktorissuesserver.dto.IssueEntityDto;
+import es.iesjandula.reaktorissuesserver.models.IdIssue;
+import es.iesjandula.reaktorissuesserver.models.IssueArchiveEntity;
+import es.iesjandula.reaktorissuesserver.models.IssueEntity;
+import es.iesjandula.reaktorissuesserver.utils.Constansts;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Class: IIssueRepositoryCustomImpl
+ * Implementación con Criteria API de las consultas de filtrado dinámico de incidencias.
+ *
+ * Los filtrados que superan reaktor.metrics.slow-query-threshold se registran como consultas lentas
+ * junto con sus filtros, para saber qué combinaciones de filtros necesitan un índice.
+ *
+ * Si no hay filtro de fecha o es anterior a la fecha más reciente archivada (ArchiveHorizon), la misma consulta
+ * se hace también sobre las incidencias archivadas y los resultados se combinan en el mismo orden.
+ *
+ * Las consultas son de solo lectura, así que con réplicas (ReplicaRoutingDataSource) se leen de una réplica.
+ *
+ * @version 1.0.0
+ *
+ *
+ * @author PabloDev09
+ */
+@Slf4j
+@Transactional(readOnly = true)
+public class IIssueRepositoryCustomImpl implements IIssueRepositoryCustom
+{
+	// Orden de las consultas: (date, classNumber, professorMail), sin distinguir mayúsculas como la intercalación de MySQL
+	private static final Comparator<IssueEntity> KEY_ORDER = Comparator.comparing(IssueEntity::getDate)
+			.thenComparing(IssueEntity::getClassNumber, String.CASE_INSENSITIVE_ORDER)
+			.thenComparing(IssueEntity::getProfessorMail, String.CASE_INSENSITIVE_ORDER);
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Autowired
+	private ArchiveHorizon archiveHorizon;
+
+	// Duración a partir de la cual un filtrado se registra como consulta lenta
+	@Value("${reaktor.metrics.slow-query-threshold:200ms}")
+	private Duration slowQueryThreshold;
+
+	@Override
+	public List<IssueEntity> findByFilters(IssueEntityDto filters)
+	{
+		long start = System.nanoTime();
+		List<IssueEntity> issues = createQuery(IssueEntity.class, filters, null).getResultList();
+		if (archiveHorizon.reaches(filters.getDateDto()))
+		{
+			issues = merge(issues, archived(createQuery(IssueArchiveEntity.class, filters, null).getResultList()), Integer.MAX_VALUE);
+		}
+		logIfSlow(filters, issues.size(), start);
+		return issues;
+	}
+
+	@Override
+	public List<IssueEntity> findPageByFilters(IssueEntityDto filters, IdIssue after, int limit)
+	{
+		long start = System.nanoTime();
+		List<IssueEntity> issues = createQuery(IssueEntity.class, filters, after).setMaxResults(limit).getResultList();
+		if (archiveHorizon.reaches(filters.getDateDto()))
+		{
+			// Cada tabla devuelve su página; la página combinada son las primeras de ambas
+			issues = merge(issues, archived(createQuery(IssueArchiveEntity.class, filters, after).setMaxResults(limit).getResultList()), limit);
+		}
+		logIfSlow(filters, issues.size(), start);
+		return issues;
+	}
+
+	@Override
+	public Stream<IssueEntity> streamByFilters(IssueEntityDto filters)
+	{
+		Stream<IssueEntity> issues = createQuery(IssueEntity.class, filters, null)
+				.setHint(HibernateHints.HINT_FETCH_SIZE, Constansts.STREAM_FETCH_SIZE)
+				.getResultStream();
+
+		if (!archiveHorizon.reaches(filters.getDateDto()))
+		{
+			return issues;
+		}
+
+		// Las incidencias archivadas se escriben a continuación de las no archivadas
+		Stream<IssueEntity> archivedIssues = createQuery(IssueArchiveEntity.class, filters, null)
+				.setHint(HibernateHints.HINT_FETCH_SIZE, Constansts.STREAM_FETCH_SIZE)
+				.getResultStream()
+				.map(archivedIssue ->
+				{
+					// Sacar la incidencia archivada del contexto de persistencia para no acumularla en memoria
+					entityManager.detach(archivedIssue);
+					return archivedIssue.toIssue();
+				});
+
+		return Stream.concat(issues, archivedIssues);
+	}
+
+	/**
+	 * Construye la consulta ordenada por (date, classNumber, professorMail) con un predicado
+	 * por cada filtro informado y, si hay cursor, el predicado de posición del keyset.
+	 * Sirve para IssueEntity y para IssueArchiveEntity, que tienen los mismos atributos.
+	 *
+	 * @param type          - Entidad a consultar.
+	 * @param filters       - Incidencia con los filtros a aplicar.
+	 * @param after         - Posición de la última incidencia devuelta o null.
+	 * @return TypedQuery<T> - Consulta lista para ejecutar.
+	 */
+	private <T> TypedQuery<T> createQuery(Class<T> type, IssueEntityDto filters, IdIssue after)
+	{
+		CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+		CriteriaQuery<T> query = builder.createQuery(type);
+		Root<T> issue = query.from(type);
+
+		// Lista de predicados, solo para los filtros informados
+		List<Predicate> predicates = new ArrayList<>();
+
+		if (isInformed(filters.getClassNumDto()))
+		{
+			predicates.add(builder.equal(issue.get("classNumber"), filters.getClassNumDto()));
+		}
+		if (isInformed(filters.getProfMailDto()))
+		{
+			predicates.add(builder.equal(issue.get("professorMail"), filters.getProfMailDto()));
+		}
+		if (filters.getDateDto() != null)
+		{
+			predicates.add(builder.equal(issue.get("date"), filters.getDateDto()));
+		}
+		if (isInformed(filters.getDescDto()))
+		{
+			predicates.add(builder.equal(issue.get("description"), filters.getDescDto()));
+		}
+		if (isInformed(filters.getStatDto()))
+		{
+			predicates.add(builder.equal(issue.get("status"), filters.getStatDto()));
+		}
+
+		// Posición del cursor: estrictamente posterior a (date, classNumber, professorMail)
+		if (after != null && after.getDate() != null)
+		{
+			predicates.add(builder.or(
+					builder.greaterThan(issue.<LocalDateTime>get("date"), after.getDate()),
+					builder.and(
+							builder.equal(issue.get("date"), after.getDate()),
+							builder.or(
+									builder.greaterThan(issue.<String>get("classNumber"), after.getClassNumber()),
+									builder.and(
+											builder.equal(issue.get("classNumber"), after.getClassNumber()),
+											builder.greaterThan(issue.<String>get("professorMail"), after.getProfessorMail()))))));
+		}
+
+		query.select(issue)
+			 .where(predicates.toArray(new Predicate[0]))
+			 .orderBy(builder.asc(issue.get("date")),
+					  builder.asc(issue.get("classNumber")),
+					  builder.asc(issue.get("professorMail")));
+
+		return entityManager.createQuery(query);
+	}
+
+	/**
+	 * Convierte las incidencias archivadas en IssueEntity.
+	 *
+	 * @param archivedIssues     - Incidencias archivadas.
+	 * @return List<IssueEntity> - Incidencias.
+	 */
+	private static List<IssueEntity> archived(List<IssueArchiveEntity> archivedIssues)
+	{
+		List<IssueEntity> issues = new ArrayList<>(archivedIssues.size());
+		for (IssueArchiveEntity archivedIssue : archivedIssues)
+		{
+			issues.add(archivedIssue.toIssue());
+		}
+		return issues;
+	}
+
+	/**
+	 * Combina dos listas ordenadas por (date, classNumber, professorMail) manteniendo el orden.
+	 *
+	 * @param issues             - Incidencias no archivadas.
+	 * @param archivedIssues     - Incidencias archivadas.
+	 * @param limit              - Número máximo de incidencias.
+	 * @return List<IssueEntity> - Las primeras incidencias de ambas listas.
+	 */
+	private static List<IssueEntity> merge(List<IssueEntity> issues, List<IssueEntity> archivedIssues, int limit)
+	{
+		List<IssueEntity> merged = new ArrayList<>(issues.size() + archivedIssues.size());
+		merged.addAll(issues);
+		merged.addAll(archivedIssues);
+		merged.sort(KEY_ORDER);
+		return merged.size() > limit ? merged.subList(0, limit) : merged;
+	}
+
+	/**
+	 * Registra el filtrado con sus filtros si ha tardado más que el umbral de consulta lenta (0 = nunca).
+	 *
+	 * @param filters - Incidencia con los filtros aplicados.
+	 * @param results - Número de incidencias devueltas.
+	 * @param start   - Instante de inicio de la consulta (System.nanoTime).
+	 */
+	private void logIfSlow(IssueEntityDto filters, int results, long start)
+	{
+		Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+		if (!slowQueryThreshold.isZero() && elapsed.compareTo(slowQueryThreshold) > 0)
+		{
+			log.warn("Consulta lenta de filtrado: {} ms, {} incidencias, filtros (classNumber={}, professorMail={}, date={}, description={}, status={})",
+					elapsed.toMillis(), results, filters.getClassNumDto(), filters.getProfMailDto(), filters.getDateDto(),
+					filters.getDescDto(), filters.getStatDto());
+		}
+	}
+
+	/**
+	 * Comprueba si un filtro de texto está informado (no null y no en blanco).
+	 *
+	 * @param filter - Valor del filtro.
+	 * @return true  - si hay que filtrar por el valor.
+	 */
+	private static boolean isInformed(String filter)
+	{
+		return filter != null && !filter.isBlank();
+	}
+}
@@ -0,0 +1,249 @@
+package es.iesjandula.reaktorissuesserver.rest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import es.iesjandula.reaktorissuesserver.dto.BulkImportReportDto;
+import es.iesjandula.reaktorissuesserver.dto.BulkRowErrorDto;
+import es.iesjandula.reaktorissuesserver.dto.IssueEntityDto;
+import es.iesjandula.reaktorissuesserver.exceptions.ReaktorIssuesServerException;
+import es.iesjandula.reaktorissuesserver.models.IdIssue;
+import es.iesjandula.reaktorissuesserver.repository.IIssueRepository;
+import es.iesjandula.reaktorissuesserver.services.IssueService;
+import es.iesjandula.reaktorissuesserver.utils.Constansts;
+import es.iesjandula.reaktorissuesserver.utils.IssueCsv;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Class: IssueBulkController
+ * Clase de Controlador para la importación y exportación masiva de incidencias en CSV y NDJSON.
+ *
+ * La importación lee el cuerpo registro a registro (en CSV un campo entre comillas puede ocupar
+ * varias líneas) y lo inserta en lotes JDBC, cada lote en su propia
+ * transacción, por lo que la memoria usada solo depende del tamaño del lote.
+ *
+ * @version 1.0.0
+ *
+ *
+ * @author PabloDev09
+ */
+@RestController
+@Slf4j
+@RequestMapping(value = "/incidencias")
+public class IssueBulkController
+{
+    @Autowired
+    private IssueService issueService;
+
+    @Autowired
+    private IIssueRepository iIssueRepository;
+
+    @Autowired
+    private IssueStreamWriter issueStreamWriter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Número de incidencias por lote y transacción
+    @Value("${reaktor.bulk.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Endpoint para importar incidencias en bloque.
+     * Cada fila se valida con checkValuesIsCorrect; las filas incorrectas o duplicadas
+     * se indican en el informe y no impiden importar el resto.
+     *
+     * @param contentType          - Tipo del cuerpo, text/csv o application/x-ndjson.
+     * @param body                 - Cuerpo con una incidencia por línea (o por registro CSV).
+     * @throws IOException         - Si no se puede leer el cuerpo.
+     * @return BulkImportReportDto - Número de incidencias importadas y errores por fila.
+     */
+    @RequestMapping(method = RequestMethod.POST, value = "/bulk",
+    		consumes = {Constansts.MEDIA_TYPE_CSV, Constansts.MEDIA_TYPE_NDJSON})
+    public BulkImportReportDto importIssues(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+    		InputStream body) throws IOException
+    {
+    	// Formato del cuerpo
+    	boolean isCsv = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.parseMediaType(Constansts.MEDIA_TYPE_CSV));
+
+    	BulkImportReportDto report = new BulkImportReportDto();
+
+    	// Lote actual y número de fila de cada incidencia del lote
+    	List<IssueEntityDto> batch = new ArrayList<>(batchSize);
+    	List<Long> rows = new ArrayList<>(batchSize);
+
+    	try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8)))
+    	{
+    		String line;
+    		long row = 0;
+
+    		while ((line = isCsv ? IssueCsv.readRecord(reader) : reader.readLine()) != null)
+    		{
+    			row++;
+
+    			// Saltar líneas vacías y la cabecera del CSV
+    			if (line.isBlank() || (isCsv && row == 1 && line.strip().equals(IssueCsv.HEADER)))
+    			{
+    				continue;
+    			}
+
+    			try
+    			{
+    				IssueEntityDto issueDto = isCsv ? IssueCsv.parse(line) : objectMapper.readValue(line, IssueEntityDto.class);
+
+    				// Si los valores no son correctos, indicar el error de la fila
+    				if (!prepare(issueDto))
+    				{
+    					report.getErrors().add(new BulkRowErrorDto(row, Constansts.ERROR_INVALID_VALUES));
+    					continue;
+    				}
+
+    				batch.add(issueDto);
+    				rows.add(row);
+    			}
+    			catch (ReaktorIssuesServerException | JsonProcessingException exception)
+    			{
+    				// Fila con formato incorrecto
+    				report.getErrors().add(new BulkRowErrorDto(row, Constansts.ERROR_INVALID_VALUES));
+    			}
+
+    			// Insertar el lote cuando está completo
+    			if (batch.size() >= batchSize)
+    			{
+    				insertBatch(batch, rows, report);
+    			}
+    		}
+    	}
+
+    	// Insertar el último lote
+    	insertBatch(batch, rows, report);
+
+    	log.info("Importación masiva: {} incidencias importadas, {} errores", report.getImported(), report.getErrors().size());
+    	return report;
+    }
+
+    /**
+     * Endpoint para exportar todas las incidencias en NDJSON.
+     *
+     * @return StreamingResponseBody - Una incidencia JSON por línea, escrita de forma incremental.
+     */
+    @RequestMapping(method = RequestMethod.GET, value = "/export", produces = Constansts.MEDIA_TYPE_NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportIssuesNdjson()
+    {
+    	return ResponseEntity.ok()
+    			.contentType(MediaType.parseMediaType(Constansts.MEDIA_TYPE_NDJSON))
+    			.body(issueStreamWriter.ndjson(new IssueEntityDto()));
+    }
+
+    /**
+     * Endpoint para exportar todas las incidencias en CSV.
+     *
+     * @return StreamingResponseBody - CSV con cabecera, escrito de forma incremental.
+     */
+    @RequestMapping(method = RequestMethod.GET, value = "/export", produces = Constansts.MEDIA_TYPE_CSV)
+    public ResponseEntity<StreamingResponseBody> exportIssuesCsv()
+    {
+    	return ResponseEntity.ok()
+    			.contentType(MediaType.parseMediaType(Constansts.MEDIA_TYPE_CSV))
+    			.header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"incidencias.csv\"")
+    			.body(issueStreamWriter.csv(new IssueEntityDto()));
+    }
+
+    /**
+     * Completa los valores por defecto de una incidencia importada y comprueba que sea válida.
+     *
+     * @param issueDto - La incidencia importada.
+     * @return true    - si la incidencia es válida; false en caso contrario.
+     */
+    private boolean prepare(IssueEntityDto issueDto)
+    {
+    	// Sin fecha se toma la fecha actual, con la precisión de la columna (microsegundos)
+    	if (issueDto.getDateDto() == null)
+    	{
+    		issueDto.setDateDto(ZonedDateTime.now(ZoneId.of("Europe/Madrid")).toLocalDateTime().truncatedTo(ChronoUnit.MICROS));
+    	}
+    	// Sin estado se toma el estado TO_DO
+    	if (issueDto.getStatDto() == null)
+    	{
+    		issueDto.setStatDto(Constansts.STATUS_TO_DO);
+    	}
+
+    	return issueDto.checkValuesIsCorrect() && Constansts.STATUSES.contains(issueDto.getStatDto());
+    }
+
+    /**
+     * Inserta un lote de incidencias en una única transacción.
+     * Si el lote falla por una incidencia duplicada, se reintenta fila a fila para
+     * importar el resto e indicar qué filas estaban duplicadas.
+     *
+     * @param batch  - Incidencias del lote.
+     * @param rows   - Número de fila de cada incidencia del lote.
+     * @param report - Informe de la importación.
+     */
+    private void insertBatch(List<IssueEntityDto> batch, List<Long> rows, BulkImportReportDto report)
+    {
+    	if (batch.isEmpty())
+    	{
+    		return;
+    	}
+
+    	try
+    	{
+    		// Insertar el lote y notificar el alta de cada Issue
+    		issueService.createAll(batch);
+    		report.setImported(report.getImported() + batch.size());
+    	}
+    	catch (DataIntegrityViolationException dataIntegrityViolationException)
+    	{
+    		for (int i = 0; i < batch.size(); i++)
+    		{
+    			try
+    			{
+    				issueService.create(batch.get(i));
+    				report.setImported(report.getImported() + 1);
+    			}
+    			catch (DataIntegrityViolationException rowException)
+    			{
+    				// Solo la restricción única de la clave natural indica una fila duplicada
+    				IssueEntityDto issueDto = batch.get(i);
+    				boolean exists = iIssueRepository.existsByIdIssue(new IdIssue(issueDto.getClassNumDto(), issueDto.getProfMailDto(), issueDto.getDateDto()));
+    				report.getErrors().add(new BulkRowErrorDto(rows.get(i), exists ? Constansts.ERROR_ISSUE_EXISTS : Constansts.ERROR_INVALID_VALUES));
+    			}
+    			entityManager.clear();
+    		}
+    	}
+
+    	// Vaciar el contexto de persistencia y el lote para no acumular incidencias en memoria
+    	entityManager.clear();
+    	batch.clear();
+    	rows.clear();
+    }
+}
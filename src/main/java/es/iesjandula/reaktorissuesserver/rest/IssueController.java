@@ -1,25 +1,54 @@
 package es.iesjandula.reaktorissuesserver.rest;
 
-import java.util.Date;
+import java.net.URI;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import es.iesjandula.reaktorissuesserver.archive.ArchiveHorizon;
+import es.iesjandula.reaktorissuesserver.cache.IssueCache;
+import es.iesjandula.reaktorissuesserver.cache.IssueFilterKey;
+import es.iesjandula.reaktorissuesserver.dedup.IssueDeduplicator;
 import es.iesjandula.reaktorissuesserver.dto.IssueEntityDto;
+import es.iesjandula.reaktorissuesserver.dto.IssueIngestStatusDto;
+import es.iesjandula.reaktorissuesserver.dto.IssuePageDto;
+import es.iesjandula.reaktorissuesserver.dto.IssueStatsDto;
+import es.iesjandula.reaktorissuesserver.dto.IssueStatusBatchDto;
+import es.iesjandula.reaktorissuesserver.dto.IssueStatusResultDto;
+import es.iesjandula.reaktorissuesserver.events.IssueChangeFeed;
 import es.iesjandula.reaktorissuesserver.exceptions.ReaktorIssuesServerException;
+import es.iesjandula.reaktorissuesserver.ingest.IssueIngestionQueue;
 import es.iesjandula.reaktorissuesserver.models.IdIssue;
+import es.iesjandula.reaktorissuesserver.models.IssueArchiveEntity;
 import es.iesjandula.reaktorissuesserver.models.IssueEntity;
+import es.iesjandula.reaktorissuesserver.models.IssueReport;
+import es.iesjandula.reaktorissuesserver.repository.IIssueArchiveRepository;
+import es.iesjandula.reaktorissuesserver.repository.IIssueReportRepository;
 import es.iesjandula.reaktorissuesserver.repository.IIssueRepository;
+import es.iesjandula.reaktorissuesserver.services.IssueService;
+import es.iesjandula.reaktorissuesserver.stats.IssueStatistics;
 import es.iesjandula.reaktorissuesserver.utils.Constansts;
+import es.iesjandula.reaktorissuesserver.utils.IssueCursor;
+import es.iesjandula.reaktorissuesserver.utils.IssueETag;
+import es.iesjandula.reaktorissuesserver.views.OpenIssueViews;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -39,15 +68,52 @@ public class IssueController
 {
     @Autowired
     private IIssueRepository iIssueRepository;
+    
+    @Autowired
+    private IssueStreamWriter issueStreamWriter;
+    
+    @Autowired
+    private IssueCache issueCache;
+    
+    @Autowired
+    private IssueService issueService;
+    
+    @Autowired
+    private IssueChangeFeed issueChangeFeed;
+    
+    @Autowired
+    private IssueStatistics issueStatistics;
+    
+    @Autowired
+    private IIssueArchiveRepository iIssueArchiveRepository;
+    
+    @Autowired
+    private ArchiveHorizon archiveHorizon;
+    
+    // Cola de altas asíncronas, null si reaktor.ingest.enabled no está activado
+    @Autowired(required = false)
+    private IssueIngestionQueue issueIngestionQueue;
+
+    @Autowired
+    private IssueDeduplicator issueDeduplicator;
+
+    @Autowired
+    private IIssueReportRepository iIssueReportRepository;
+
+    @Autowired
+    private OpenIssueViews openIssueViews;
 
     /**
      * Endpoint para crear una nueva incidencia.
-     * Verifica que la incidencia tenga valores válidos y que no exista previamente.
-     * Si es válida y no existe, se añade al repositorio con estado TO_DO y fecha actual.
+     * Verifica que la incidencia tenga valores válidos y la inserta con estado TO_DO y fecha actual.
+     * La existencia previa se detecta por la restricción única de la clave natural al insertar; si la inserción
+     * falla por otra restricción, la incidencia no es válida.
+     * Con la cola de altas asíncronas activada, la incidencia se encola y se responde 202 con el
+     * identificador de seguimiento, que se consulta en /incidencias/ingesta/{trackingId}.
      * 
      * @param professorMail					- Mail del profesor de la incidencia
      * @param issueDto 						- La incidencia a crear.
-     * @throws ReaktorIssuesServerException - Si la incidencia no es válida o ya existe.
+     * @throws ReaktorIssuesServerException - Si la incidencia no es válida, ya existe o la cola de altas está llena.
      * @return ResponseEntity<String>       - Respuesta según el estado
      */
     @RequestMapping(method = RequestMethod.POST, value = "")
@@ -55,45 +121,85 @@ public class IssueController
     		@RequestBody IssueEntityDto issueDto) throws ReaktorIssuesServerException
     {
     	
+        // Indicar el correo del docente en la Issue, antes de validarla
+        issueDto.setProfMailDto(professorMail);
+        
     	// Si los valores no son correctos
         if(!issueDto.checkValuesIsCorrect())
         {
         	// Lanzar excepción indicando que los valores son invalidos
-        	 throw new ReaktorIssuesServerException(Constansts.ERROR_INVALID_VALUES);
+        	 throw ReaktorIssuesServerException.INVALID_VALUES;
         }
         
-        // Crear objeto id de la Issue
-        IdIssue idIssue = new IdIssue(issueDto.getClassNumDto(), issueDto.getProfMailDto(), issueDto.getDateDto());
-        
-        // Verificar si la Issue ya existe en el Repository
-        if (iIssueRepository.existsById(idIssue))
-        {
-            // Warning en caso de que exista la Issue en el Repository
-            log.error("La incidencia {} ya existe.", issueDto.toString());
-            return ResponseEntity.status(401).body("Incidencia ya existente");
-        }   
-           
-       // Si no existe en el Repository, el estado predeterminado será TO_DO
+        // El estado predeterminado será TO_DO
         issueDto.setStatDto(Constansts.STATUS_TO_DO);
         
-        // Indicar el correo del docente en la Issue
-        issueDto.setProfMailDto(professorMail);
+        // Indicar la fecha de actual de alta de la Issue, con la precisión de la columna (microsegundos)
+        issueDto.setDateDto(ZonedDateTime.now(ZoneId.of("Europe/Madrid")).toLocalDateTime().truncatedTo(ChronoUnit.MICROS));
         
-        // Indicar la fecha de actual de alta de la Issue
-        issueDto.setDateDto(ZonedDateTime.now(ZoneId.of("Europe/Madrid")).toLocalDateTime());
+        // Si ya hay una incidencia abierta parecida en la clase, añadir el aviso a esa incidencia
+        Optional<Long> duplicateId = issueDeduplicator.findDuplicate(issueDto);
+        if(duplicateId.isPresent())
+        {
+        	issueDeduplicator.attach(duplicateId.get(), issueDto);
+        	log.debug("Incidencia repetida añadida como aviso de la incidencia {}", duplicateId.get());
+        	return ResponseEntity.ok()
+        			.location(URI.create("/incidencias/" + duplicateId.get()))
+        			.body("La incidencia ya estaba abierta, se ha añadido el aviso a la incidencia " + duplicateId.get());
+        }
+        
+        // Alta asíncrona: se inserta en el siguiente lote del hilo escritor
+        if(issueIngestionQueue != null)
+        {
+        	String trackingId = issueIngestionQueue.enqueue(issueDto);
+        	return ResponseEntity.accepted()
+        			.location(URI.create("/incidencias/ingesta/" + trackingId))
+        			.body(trackingId);
+        }
         
-        // Añadir la Issue al Repository
-        iIssueRepository.saveAndFlush(issueDto);
+        try
+        {
+        	// Añadir la Issue al Repository y notificar su alta
+        	issueService.create(issueDto);
+        }
+        catch (DataIntegrityViolationException dataIntegrityViolationException)
+        {
+            // Solo la restricción única de la clave natural indica una incidencia ya existente (409)
+            if(iIssueRepository.existsByIdIssue(new IdIssue(issueDto.getClassNumDto(), issueDto.getProfMailDto(), issueDto.getDateDto())))
+            {
+            	throw ReaktorIssuesServerException.ISSUE_EXISTS;
+            }
+            
+            log.warn("Incidencia rechazada por la base de datos: {}", dataIntegrityViolationException.getMostSpecificCause().getMessage());
+            throw ReaktorIssuesServerException.INVALID_VALUES;
+        }
         
-        // Info en caso de que la Issue haya sido añadida correctamente
-        log.info("Incidencia creada exitosamente");
+        // Debug en caso de que la Issue haya sido añadida correctamente
+        log.debug("Incidencia creada exitosamente");
         return ResponseEntity.status(201).body("La incidencia se ha creado con exito");
 		
     }
 
+    /**
+     * Endpoint para consultar el estado de un alta asíncrona.
+     * 
+     * @param trackingId 					- El identificador de seguimiento devuelto por el alta.
+     * @throws ReaktorIssuesServerException - Si la cola de altas no está activada o el alta no se conoce o ha caducado.
+     * @return IssueIngestStatusDto         - Estado del alta y, si se ha creado, identificador de la incidencia
+     */
+    @RequestMapping(method = RequestMethod.GET, value = "/ingesta/{trackingId}")
+    public IssueIngestStatusDto getIngestStatus(@PathVariable String trackingId) throws ReaktorIssuesServerException
+    {
+    	if(issueIngestionQueue == null)
+    	{
+    		throw ReaktorIssuesServerException.INGEST_NOT_FOUND;
+    	}
+    	return issueIngestionQueue.getStatus(trackingId).orElseThrow(() -> ReaktorIssuesServerException.INGEST_NOT_FOUND);
+    }
+
     /**
      * Endpoint para borrar una incidencia.
-     * Verifica que la incidencia exista en el repositorio antes de eliminarla.
+     * Borra la incidencia condicionada a su estado leído, para notificar el borrado con la incidencia borrada.
      * 
      * @param issueDto 						- La incidencia a eliminar.
      * @throws ReaktorIssuesServerException - Si la incidencia no se encuentra.
@@ -105,130 +211,332 @@ public class IssueController
         // Crear objeto id de la Issue
     	IdIssue idIssue = new IdIssue(issueDto.getClassNumDto(), issueDto.getProfMailDto(), issueDto.getDateDto());
     	
-    	// No existe la incidencia
-        if(!iIssueRepository.existsById(idIssue))
-        {
-        	// Excepción incidencia no encontrada
-        	throw new ReaktorIssuesServerException(Constansts.ERROR_ISSUE_NOT_FOUND);
-        }        
-
-        // Si se ha encontrado la incidencia borrar
-        iIssueRepository.deleteById(idIssue);
+    	// Borrar la incidencia y notificar su borrado, lanza excepción si no existe
+    	issueService.delete(idIssue);
         
-        // Retornar un status 201 para indicar que se ha eliminado correctamente
-        return ResponseEntity.status(201).body("La incidencia se ha eliminado con exito");
+        // Retornar un status 200 para indicar que se ha eliminado correctamente
+        return ResponseEntity.ok("La incidencia se ha eliminado con exito");
     } 
     
     /**
-     * Endpoint para borrar una incidencia.
-     * Verifica que la incidencia exista en el repositorio antes de eliminarla.
+     * Endpoint para obtener una incidencia.
+     * Busca la incidencia por su clave natural con una única consulta.
+     * Devuelve su ETag; si coincide con la cabecera If-None-Match responde 304 sin cuerpo.
      * 
      * @param idIssue 						- El id de la incidencia
      * @throws ReaktorIssuesServerException - Si la incidencia no se encuentra.
-     * @return Optional<IssueEntity>        - Incidencia correspondiente
+     * @return ResponseEntity<IssueEntity>  - Incidencia correspondiente con su ETag
      */
-    
     @RequestMapping(method = RequestMethod.GET, value = "")
-    public Optional<IssueEntity> getIssue(@RequestBody IdIssue idIssue) throws ReaktorIssuesServerException
+    public ResponseEntity<IssueEntity> getIssue(@RequestBody IdIssue idIssue) throws ReaktorIssuesServerException
     {
-    	// No existe la incidencia
-        if(!iIssueRepository.existsById(idIssue))
-        {
-        	// Excepción incidencia no encontrada
-        	throw new ReaktorIssuesServerException(Constansts.ERROR_ISSUE_NOT_FOUND);
-        }        
-
-        // Si se ha encontrado la incidencia, devolverla
-        return iIssueRepository.findById(idIssue);
+        // Buscar la incidencia, o la archivada si su fecha puede estar en el archivo, o lanzar excepción incidencia no encontrada
+        IssueEntity issue = issueCache.getIssue(idIssue, key -> iIssueRepository.findByIdIssue(key)
+        				.or(() -> archiveHorizon.reaches(key.getDate())
+        						? iIssueArchiveRepository.findByIdIssue(key).map(IssueArchiveEntity::toIssue)
+        						: Optional.empty()))
+        		.orElseThrow(() -> ReaktorIssuesServerException.ISSUE_NOT_FOUND);
+        
+        // Spring responde 304 si el ETag coincide con If-None-Match
+        return ResponseEntity.ok().eTag(IssueETag.of(issue)).body(issue);
     } 
     
+    /**
+     * Endpoint para obtener una incidencia por su identificador numérico.
+     * Permite a los clientes direccionar y cachear las incidencias sin enviar la clave natural.
+     * Devuelve su ETag; si coincide con la cabecera If-None-Match responde 304 sin cuerpo.
+     * 
+     * @param id 							- El identificador de la incidencia
+     * @throws ReaktorIssuesServerException - Si la incidencia no se encuentra.
+     * @return ResponseEntity<IssueEntity>  - Incidencia correspondiente con su ETag
+     */
+    @RequestMapping(method = RequestMethod.GET, value = "/{id}")
+    public ResponseEntity<IssueEntity> getIssueById(@PathVariable long id) throws ReaktorIssuesServerException
+    {
+    	// Buscar la incidencia por su clave primaria, después en el archivo, o lanzar excepción incidencia no encontrada
+    	IssueEntity issue = iIssueRepository.findById(id)
+    			.or(() -> iIssueArchiveRepository.findFirstById(id).map(IssueArchiveEntity::toIssue))
+    			.orElseThrow(() -> ReaktorIssuesServerException.ISSUE_NOT_FOUND);
+    	
+    	// Spring responde 304 si el ETag coincide con If-None-Match
+    	return ResponseEntity.ok().eTag(IssueETag.of(issue)).body(issue);
+    }
+    
+    /**
+     * Endpoint para obtener los avisos de una incidencia: las incidencias repetidas de la misma clase
+     * que se añadieron a ella en lugar de crearse.
+     * 
+     * @param id 							- El identificador de la incidencia
+     * @throws ReaktorIssuesServerException - Si la incidencia no se encuentra.
+     * @return List<IssueReport>            - Avisos de la incidencia ordenados por fecha
+     */
+    @RequestMapping(method = RequestMethod.GET, value = "/{id}/avisos")
+    public List<IssueReport> getIssueReports(@PathVariable long id) throws ReaktorIssuesServerException
+    {
+    	List<IssueReport> reports = iIssueReportRepository.findByIssueIdOrderByDate(id);
+    	
+    	// Sin avisos, comprobar que la incidencia existe
+    	if(reports.isEmpty() && !iIssueRepository.existsById(id) && iIssueArchiveRepository.findFirstById(id).isEmpty())
+    	{
+    		throw ReaktorIssuesServerException.ISSUE_NOT_FOUND;
+    	}
+    	return reports;
+    }
+    
+    /**
+     * Endpoint para obtener las incidencias abiertas ("To do", "In process") de una clase.
+     * Se sirven de las vistas en memoria (OpenIssueViews), sin consultar la base de datos.
+     * 
+     * @param classNumber 					- El número de clase.
+     * @return List<IssueEntity>            - Incidencias abiertas de la clase, las más recientes primero
+     */
+    @RequestMapping(method = RequestMethod.GET, value = "/abiertas/clase/{classNumber}")
+    public List<IssueEntity> getOpenIssuesByClassroom(@PathVariable String classNumber)
+    {
+    	return openIssueViews.byClassroom(classNumber);
+    }
+    
+    /**
+     * Endpoint para obtener las incidencias abiertas ("To do", "In process") del profesor que hace la petición.
+     * Se sirven de las vistas en memoria (OpenIssueViews), sin consultar la base de datos.
+     * 
+     * @param professorMail 				- El correo del profesor.
+     * @return List<IssueEntity>            - Incidencias abiertas del profesor, las más recientes primero
+     */
+    @RequestMapping(method = RequestMethod.GET, value = "/abiertas/profesor")
+    public List<IssueEntity> getOpenIssuesByProfessor(@RequestHeader String professorMail)
+    {
+    	return openIssueViews.byProfessor(professorMail);
+    }
+    
     /**
      * Endpoint para filtrar incidencias.
-     * Verifica si la lista de incidencias filtradas está vacía. 
+     * Devuelve las incidencias paginadas por clave (date, classNumber, professorMail).
+     * Para pedir la página siguiente se reenvía el token nextCursor de la respuesta anterior.
+     * Responde en JSON, CBOR o Smile según la cabecera Accept (BinaryFormatConfiguration).
      * 
      * @param issueDto                       - La indicencia con los filtros a aplicar.
-     * @throws ReaktorIssuesServerException  - Si no se encuentra ninguna incidencia que coincida con los filtros.
-     * @return List<IssueEntity>             - Lista de incidencias que coinciden con los filtros aplicados.
+     * @param cursor                         - Token de continuación de la página anterior (opcional).
+     * @param limit                          - Tamaño máximo de la página.
+     * @throws ReaktorIssuesServerException  - Si el token de continuación no es válido.
+     * @return IssuePageDto                  - Página de incidencias que coinciden con los filtros aplicados, vacía si no hay ninguna.
      */
-    @RequestMapping(method = RequestMethod.GET, value = "/filtrar")
-    public List<IssueEntity> getIssuesByFilters(@RequestBody IssueEntityDto issueDto) throws ReaktorIssuesServerException {
-    	// Lista de incidencia filtradas
-        List<IssueEntity> issues = iIssueRepository.findByFilters(issueDto.getClassNumDto(), issueDto.getProfMailDto(), issueDto.getDateDto(), issueDto.getDescDto(), issueDto.getStatDto());
+    @RequestMapping(method = RequestMethod.GET, value = "/filtrar",
+    		produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, Constansts.MEDIA_TYPE_SMILE})
+    public IssuePageDto getIssuesByFilters(@RequestBody IssueEntityDto issueDto,
+    		@RequestParam(required = false) String cursor,
+    		@RequestParam(defaultValue = "" + Constansts.DEFAULT_PAGE_SIZE) int limit) throws ReaktorIssuesServerException
+    {
+    	// Ajustar el tamaño de página a los límites permitidos
+    	int pageSize = Math.max(1, Math.min(limit, Constansts.MAX_PAGE_SIZE));
+    	
+    	// Posición a partir de la cual continuar (null en la primera página)
+    	IdIssue after = cursor == null ? null : IssueCursor.decode(cursor);
+    	
+    	// Pedir una incidencia más de las necesarias para saber si hay página siguiente
+        List<IssueEntity> issues = issueCache.getPage(IssueFilterKey.of(issueDto, cursor, pageSize + 1),
+        		() -> iIssueRepository.findPageByFilters(issueDto, after, pageSize + 1));
         
-        // Si la lista de incidencias está vacía
-        if(issues.isEmpty())
+        // Si hay más incidencias que el tamaño de página, quedan páginas por devolver
+        String nextCursor = null;
+        if(issues.size() > pageSize)
         {
-       	 	// Indicar error 
-            log.error("La lista de indicencia no existe");
-        	// Excepción lista de incidencia vacía
-        	throw new ReaktorIssuesServerException(Constansts.ERROR_BLANK_ISSUES_LIST);
+        	issues = issues.subList(0, pageSize);
+        	nextCursor = IssueCursor.encode(issues.get(pageSize - 1));
         }
-        // Si no esta vacía, devolverla
-		return issues;
+        
+		return new IssuePageDto(issues, nextCursor);
     }
     
+    /**
+     * Endpoint para filtrar incidencias en modo streaming (NDJSON).
+     * Escribe una incidencia por línea a medida que se leen de la base de datos,
+     * de forma que la memoria usada no depende del número de incidencias.
+     * 
+     * @param issueDto                       - La indicencia con los filtros a aplicar.
+     * @return StreamingResponseBody         - Cuerpo de la respuesta escrito de forma incremental.
+     */
+    @RequestMapping(method = RequestMethod.GET, value = "/filtrar", produces = Constansts.MEDIA_TYPE_NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamIssuesByFilters(@RequestBody IssueEntityDto issueDto)
+    {
+    	// Escribir las incidencias a medida que se leen de la base de datos
+    	return ResponseEntity.ok()
+    			.contentType(MediaType.parseMediaType(Constansts.MEDIA_TYPE_NDJSON))
+    			.body(issueStreamWriter.ndjson(issueDto));
+    }
+    
+    /**
+     * Endpoint para buscar incidencias por las palabras de su descripción.
+     * Usa el índice FULLTEXT de la descripción, sin distinguir mayúsculas ni acentos, y devuelve
+     * las incidencias de mayor a menor relevancia. Para pedir la página siguiente se reenvía nextCursor.
+     *
+     * @param q                              - Palabras a buscar.
+     * @param cursor                         - Token de continuación de la página anterior (opcional).
+     * @param limit                          - Tamaño máximo de la página.
+     * @throws ReaktorIssuesServerException  - Si no se indican palabras o el token de continuación no es válido.
+     * @return IssuePageDto                  - Página de incidencias encontradas, vacía si no hay ninguna.
+     */
+    @RequestMapping(method = RequestMethod.GET, value = "/buscar")
+    public IssuePageDto searchIssues(@RequestParam String q,
+    		@RequestParam(required = false) String cursor,
+    		@RequestParam(defaultValue = "" + Constansts.DEFAULT_PAGE_SIZE) int limit) throws ReaktorIssuesServerException
+    {
+    	// Sin palabras no hay nada que buscar
+    	if(q.isBlank())
+    	{
+    		throw ReaktorIssuesServerException.INVALID_VALUES;
+    	}
+
+    	// Ajustar el tamaño de página a los límites permitidos
+    	int pageSize = Math.max(1, Math.min(limit, Constansts.MAX_PAGE_SIZE));
+
+    	// El token de continuación es el número de incidencias ya devueltas
+    	int offset = 0;
+    	if(cursor != null)
+    	{
+    		try
+    		{
+    			offset = Integer.parseInt(cursor);
+    		}
+    		catch (NumberFormatException numberFormatException)
+    		{
+    			throw ReaktorIssuesServerException.INVALID_CURSOR;
+    		}
+    		if(offset < 0)
+    		{
+    			throw ReaktorIssuesServerException.INVALID_CURSOR;
+    		}
+    	}
+
+    	// Pedir una incidencia más de las necesarias para saber si hay página siguiente
+    	List<IssueEntity> issues = iIssueRepository.searchByDescription(q, pageSize + 1, offset);
+
+    	String nextCursor = null;
+    	if(issues.size() > pageSize)
+    	{
+    		issues = issues.subList(0, pageSize);
+    		nextCursor = String.valueOf(offset + pageSize);
+    	}
+
+    	return new IssuePageDto(issues, nextCursor);
+    }
+
     /**
      * Endpoint para actualizar una incidencia.
-     * Verifica que la incidencia exista en el repositorio antes de actualizarla.
+     * La descripción se actualiza con una única sentencia; el cambio de estado se valida contra el estado actual.
+     * Con la cabecera If-Match solo se actualiza si la incidencia no ha cambiado desde ese ETag.
      * 
      * @param issueDto						- La incidencia a eliminar.
-     * @throws ReaktorIssuesServerException - Si la incidencia no se encuentra.
-     * @return ResponseEntity<String>       - Respuesta según el estado
+     * @param ifMatch						- ETag de la versión que conoce el cliente (opcional).
+     * @throws ReaktorIssuesServerException - Si la incidencia no se encuentra o ha cambiado desde el ETag indicado (412).
+     * @return ResponseEntity<String>       - Respuesta según el estado, con el nuevo ETag si se conoce
      */
     @RequestMapping(method = RequestMethod.POST, value = "/actualizar")
-    public ResponseEntity<String> updateIssue(@RequestBody IssueEntityDto issueDto) throws ReaktorIssuesServerException
+    public ResponseEntity<String> updateIssue(@RequestBody IssueEntityDto issueDto,
+    		@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) throws ReaktorIssuesServerException
     {
-        // Crear objeto id de la Issue
-    	IdIssue idIssue = new IdIssue(issueDto.getClassNumDto(), issueDto.getProfMailDto(), issueDto.getDateDto());
-    	// No existe la incidencia
-        if(!iIssueRepository.existsById(idIssue))
-        {
-       	 	// Indicar error 
-            log.error("La incidencia no existe");
-        	// Excepción incidencia no encontrada
-        	throw new ReaktorIssuesServerException(Constansts.ERROR_ISSUE_NOT_FOUND);
-        }        
-
-        // Si se ha encontrado la incidencia actualizar
-        iIssueRepository.saveAndFlush(issueDto);
+    	// Actualizar la incidencia y notificar el cambio, lanza excepción si no existe, ha cambiado o la transición no es válida
+    	IssueEntity issue = issueService.update(issueDto, ifMatch);
         
-        // Retornar un status 201 para indicar que se ha actualizado correctamente
-        return ResponseEntity.status(201).body("La incidencia se ha actualizado con exito");
+        // Retornar un status 200 para indicar que se ha actualizado correctamente
+        return withETag(issue).body("La incidencia se ha actualizado con exito");
     } 
 
     /**
      * Endpoint para marcar cambiar de estaod una indicencia.
-     * Cambia el estado de la incidencia a un estado pasado por el body si existe en el repositorio.
+     * Cambia el estado de la incidencia a un estado pasado por el body, condicionado a su estado actual.
      * 
      * @param idDto 						- El id de incidencia a cambiar.
-     * @param statDto						- El estado de la incidencia a cambiar.
-     * @throws ReaktorIssuesServerException - Si la incidencia no se encuentra.
-     * @return ResponseEntity<String>       - Respuesta según el estado
+     * @param statDto						- El estado de la incidencia a cambiar (parámetro de la petición).
+     * @param ifMatch						- ETag de la versión que conoce el cliente (opcional).
+     * @throws ReaktorIssuesServerException - Si falta el estado o no es válido (422), la incidencia no se encuentra
+     *                                        o ha cambiado desde el ETag indicado (412).
+     * @return ResponseEntity<String>       - Respuesta según el estado, con el nuevo ETag
      */
     @RequestMapping(method = RequestMethod.POST, value = "/cambiar-estado")
-    public ResponseEntity<String> changeStatusIssue(@RequestBody IdIssue idDto, String statDto) throws ReaktorIssuesServerException
+    public ResponseEntity<String> changeStatusIssue(@RequestBody IdIssue idDto,
+    		@RequestParam(required = false) String statDto,
+    		@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) throws ReaktorIssuesServerException
     {
-    	// No existe la incidencia
-        if(!iIssueRepository.existsById(idDto))
-        {
-        	 // Indicar error 
-             log.error("La incidencia no existe");
-        	 // Excepción de incidencia no encontrada
-             throw new ReaktorIssuesServerException(Constansts.ERROR_ISSUE_NOT_FOUND);
-        }
-        
-        // El estado no ha cambiado
-        if(!iIssueRepository.changeStatus(idDto, statDto))
-        {
-        	 // Indicar error 
-        	 log.error("La incidencia no ha cambiado de estado");
-        	// Excepción de incidencia no ha cambiado de estado
-        	 throw new ReaktorIssuesServerException(Constansts.ERROR_NOT_CHANGED_STATUS);
-        }
-        // Indicar info
-        log.info("La incidencia ha cambiado a estado {}", statDto);
-        // Retornar respuesta con status 201 e indicar que la indicencia ha cambiado de estado
-        return ResponseEntity.status(201).body("La incidencia ha cambiado de estado con exito");
+        // Cambiar el estado y notificar el cambio, lanza excepción si el estado no es válido, no existe, ha cambiado o la transición no está permitida
+        IssueEntity issue = issueService.changeStatus(idDto, statDto, ifMatch);
+        // Indicar debug
+        log.debug("La incidencia ha cambiado a estado {}", statDto);
+        // Retornar respuesta con status 200 e indicar que la indicencia ha cambiado de estado
+        return withETag(issue).body("La incidencia ha cambiado de estado con exito");
 		
-    } 
+    }
+    
+    /**
+     * Endpoint para cambiar de estado varias incidencias a la vez, por ejemplo al cerrar las de un turno.
+     * Las incidencias se indican por identificador o, si no hay identificadores, por filtros; las que no existen
+     * o no permiten la transición se indican en el resultado y no impiden cambiar el resto.
+     * 
+     * @param batchDto 						- Las incidencias y el estado destino.
+     * @throws ReaktorIssuesServerException - Si el estado no es válido o el lote está vacío o es demasiado grande.
+     * @return List<IssueStatusResultDto>   - Resultado de cada incidencia
+     */
+    @RequestMapping(method = RequestMethod.POST, value = "/cambiar-estado/lote")
+    public List<IssueStatusResultDto> changeStatusIssues(@RequestBody IssueStatusBatchDto batchDto) throws ReaktorIssuesServerException
+    {
+    	List<IssueStatusResultDto> results = issueService.changeStatusAll(batchDto);
+    	// Indicar debug
+    	log.debug("Cambio de estado en lote a {} de {} incidencias", batchDto.getStatDto(), results.size());
+    	return results;
+    }
+    
+    /**
+     * Crea una respuesta 200 con el ETag de la incidencia escrita, para encadenar escrituras con If-Match
+     * sin volver a leerla.
+     * 
+     * @param issue                         - La incidencia escrita, null si no se conoce su versión.
+     * @return ResponseEntity.BodyBuilder   - Respuesta 200, con ETag si se conoce la incidencia.
+     */
+    private static ResponseEntity.BodyBuilder withETag(IssueEntity issue)
+    {
+    	return issue == null ? ResponseEntity.ok() : ResponseEntity.ok().eTag(IssueETag.of(issue));
+    }
+    
+    /**
+     * Endpoint para suscribirse a los cambios de incidencias mediante Server-Sent Events.
+     * Publica las altas, actualizaciones, borrados y cambios de estado que cumplan los filtros,
+     * de forma que los clientes no necesitan consultar /filtrar periódicamente.
+     * 
+     * @param professorMail - Filtro por correo de profesor (opcional).
+     * @param classNumber   - Filtro por número de clase (opcional).
+     * @param status        - Filtro por estado (opcional).
+     * @return SseEmitter   - Conexión SSE con los cambios.
+     */
+    @RequestMapping(method = RequestMethod.GET, value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestParam(required = false) String professorMail,
+    		@RequestParam(required = false) String classNumber,
+    		@RequestParam(required = false) String status)
+    {
+    	return issueChangeFeed.subscribe(professorMail, classNumber, status);
+    }
+    
+    /**
+     * Endpoint para consultar las estadísticas de las incidencias.
+     * Devuelve el número de incidencias por estado, por clase y por profesor y el tiempo medio de resolución,
+     * leídos de contadores en memoria sin consultar la base de datos.
+     * 
+     * @return IssueStatsDto - Estadísticas de las incidencias.
+     */
+    @RequestMapping(method = RequestMethod.GET, value = "/estadisticas")
+    public IssueStatsDto getIssueStats()
+    {
+    	return issueStatistics.snapshot();
+    }
+    
+    /**
+     * Endpoint para consultar los contadores de la caché de incidencias.
+     * Permite dimensionar la caché según los aciertos, fallos y expulsiones.
+     * 
+     * @return Map<String, Map<String, Object>> - Estadísticas de la caché.
+     */
+    @RequestMapping(method = RequestMethod.GET, value = "/cache/estadisticas")
+    public Map<String, Map<String, Object>> getCacheStats()
+    {
+    	return issueCache.stats();
+    }
 }
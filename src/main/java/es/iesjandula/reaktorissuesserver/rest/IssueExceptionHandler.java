@@ -0,0 +1,103 @@
+package es.iesjandula.reaktorissuesserver.rest;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import es.iesjandula.reaktorissuesserver.exceptions.ReaktorIssuesServerException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Class: IssueExceptionHandler
+ * Convierte los errores de dominio (ReaktorIssuesServerException) en respuestas de error
+ * application/problem+json con su código HTTP (400, 404, 409, 412, 422, 429, 503).
+ * Los rechazos por carga (429, 503) indican además cuándo reintentar (Retry-After).
+ *
+ * Los errores se registran en el log como mucho una vez por motivo y por intervalo
+ * (reaktor.errors.log-interval), indicando cuántos errores iguales se han omitido,
+ * para que una ráfaga de errores no sature el log.
+ *
+ * @version 1.0.0
+ *
+ *
+ * @author PabloDev09
+ */
+@Slf4j
+@RestControllerAdvice
+public class IssueExceptionHandler
+{
+	// Intervalo mínimo entre dos registros del mismo motivo de error
+	@Value("${reaktor.errors.log-interval:10s}")
+	private Duration logInterval;
+
+	// Ventana de registro de cada motivo de error
+	private final Map<String, LogWindow> logWindows = new ConcurrentHashMap<>();
+
+	/**
+	 * Responde a un error de dominio con su código HTTP y su mensaje.
+	 *
+	 * @param exception      - El error de dominio.
+	 * @param request        - La petición que ha producido el error.
+	 * @param response       - La respuesta, para la cabecera Retry-After.
+	 * @return ProblemDetail - Cuerpo de la respuesta de error.
+	 */
+	@ExceptionHandler(ReaktorIssuesServerException.class)
+	public ProblemDetail handleIssueException(ReaktorIssuesServerException exception, HttpServletRequest request,
+			HttpServletResponse response)
+	{
+		logRateLimited(exception.getMessage(), request);
+
+		// Indicar cuándo reintentar los rechazos por carga, si no lo ha indicado ya quien rechaza la petición
+		if ((exception.getStatus() == HttpStatus.TOO_MANY_REQUESTS || exception.getStatus() == HttpStatus.SERVICE_UNAVAILABLE)
+				&& !response.containsHeader(HttpHeaders.RETRY_AFTER))
+		{
+			response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+		}
+		return ProblemDetail.forStatusAndDetail(exception.getStatus(), exception.getMessage());
+	}
+
+	/**
+	 * Registra el error si no se ha registrado otro con el mismo motivo durante el intervalo.
+	 *
+	 * @param reason  - Motivo del error.
+	 * @param request - La petición que ha producido el error.
+	 */
+	private void logRateLimited(String reason, HttpServletRequest request)
+	{
+		LogWindow window = logWindows.computeIfAbsent(reason, key -> new LogWindow());
+		long now = System.nanoTime();
+		long next = window.nextLog.get();
+
+		// Solo un hilo gana el registro de cada intervalo; el resto se cuentan como omitidos
+		if (now - next >= 0 && window.nextLog.compareAndSet(next, now + logInterval.toNanos()))
+		{
+			log.warn("{}: {} {} ({} errores iguales omitidos)", reason, request.getMethod(), request.getRequestURI(),
+					window.suppressed.sumThenReset());
+		}
+		else
+		{
+			window.suppressed.increment();
+		}
+	}
+
+	/**
+	 * Class: LogWindow
+	 * Instante a partir del cual se puede volver a registrar un motivo de error y errores omitidos hasta entonces.
+	 */
+	private static final class LogWindow
+	{
+		private final AtomicLong nextLog = new AtomicLong(System.nanoTime());
+		private final LongAdder suppressed = new LongAdder();
+	}
+}
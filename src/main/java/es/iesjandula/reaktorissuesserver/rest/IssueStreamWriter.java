@@ -0,0 +1,128 @@
+package es.iesjandula.reaktorissuesserver.rest;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import es.iesjandula.reaktorissuesserver.dto.IssueEntityDto;
+import es.iesjandula.reaktorissuesserver.models.IssueEntity;
+import es.iesjandula.reaktorissuesserver.repository.IIssueRepository;
+import es.iesjandula.reaktorissuesserver.utils.IssueCsv;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Class: IssueStreamWriter
+ * Clase para escribir incidencias en la respuesta a medida que se leen de la base de datos,
+ * de forma que la memoria usada no depende del número de incidencias.
+ *
+ * @version 1.0.0
+ *
+ *
+ * @author PabloDev09
+ */
+@Component
+public class IssueStreamWriter
+{
+	@Autowired
+	private IIssueRepository iIssueRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	/**
+	 * Crea el cuerpo de una respuesta NDJSON con una incidencia JSON por línea.
+	 *
+	 * @param filters                - Incidencia con los filtros a aplicar.
+	 * @return StreamingResponseBody - Cuerpo de la respuesta escrito de forma incremental.
+	 */
+	public StreamingResponseBody ndjson(IssueEntityDto filters)
+	{
+		return lines(filters, null, issue ->
+		{
+			try
+			{
+				return objectMapper.writeValueAsBytes(issue);
+			}
+			catch (JsonProcessingException jsonProcessingException)
+			{
+				throw new UncheckedIOException(jsonProcessingException);
+			}
+		});
+	}
+
+	/**
+	 * Crea el cuerpo de una respuesta CSV con cabecera y una incidencia por línea.
+	 *
+	 * @param filters                - Incidencia con los filtros a aplicar.
+	 * @return StreamingResponseBody - Cuerpo de la respuesta escrito de forma incremental.
+	 */
+	public StreamingResponseBody csv(IssueEntityDto filters)
+	{
+		return lines(filters, IssueCsv.HEADER.getBytes(StandardCharsets.UTF_8),
+				issue -> IssueCsv.format(issue).getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Crea el cuerpo de una respuesta que escribe una línea por incidencia filtrada.
+	 *
+	 * @param filters                - Incidencia con los filtros a aplicar.
+	 * @param header                 - Primera línea a escribir o null.
+	 * @param encoder                - Conversión de cada incidencia a su línea (sin salto de línea).
+	 * @return StreamingResponseBody - Cuerpo de la respuesta escrito de forma incremental.
+	 */
+	private StreamingResponseBody lines(IssueEntityDto filters, byte[] header, Function<IssueEntity, byte[]> encoder)
+	{
+		return outputStream ->
+		{
+			if (header != null)
+			{
+				outputStream.write(header);
+				outputStream.write('\n');
+			}
+
+			// Transacción de solo lectura que mantiene abierto el cursor mientras se escribe
+			TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+			transactionTemplate.setReadOnly(true);
+
+			transactionTemplate.executeWithoutResult(status ->
+			{
+				try (Stream<IssueEntity> issues = iIssueRepository.streamByFilters(filters))
+				{
+					issues.forEach(issue ->
+					{
+						try
+						{
+							// Escribir la incidencia como una línea
+							outputStream.write(encoder.apply(issue));
+							outputStream.write('\n');
+						}
+						catch (IOException ioException)
+						{
+							throw new UncheckedIOException(ioException);
+						}
+						// Sacar la incidencia del contexto de persistencia para no acumularla en memoria
+						entityManager.detach(issue);
+					});
+				}
+			});
+		};
+	}
+}
@@ -35,4 +35,4 @@ public class CorsConfiguration {
             }
         };
     }
-}}
\ No newline at end of file
+}
@@ -0,0 +1,373 @@
+package es.iesjandula.reaktorissuesserver.services;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import es.iesjandula.reaktorissuesserver.cache.IssueCache;
+import es.iesjandula.reaktorissuesserver.dto.IssueEntityDto;
+import es.iesjandula.reaktorissuesserver.dto.IssueStatusBatchDto;
+import es.iesjandula.reaktorissuesserver.dto.IssueStatusResultDto;
+import es.iesjandula.reaktorissuesserver.events.IssueEvent;
+import es.iesjandula.reaktorissuesserver.exceptions.ReaktorIssuesServerException;
+import es.iesjandula.reaktorissuesserver.models.IdIssue;
+import es.iesjandula.reaktorissuesserver.models.IssueEntity;
+import es.iesjandula.reaktorissuesserver.repository.IIssueRepository;
+import es.iesjandula.reaktorissuesserver.utils.Constansts;
+import es.iesjandula.reaktorissuesserver.utils.IssueETag;
+import es.iesjandula.reaktorissuesserver.utils.IssueStatusTransitions;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Class: IssueService
+ * Clase de Servicio con las escrituras de incidencias y la publicación de sus cambios (IssueEvent).
+ *
+ * Las escrituras que dependen del estado actual leen la incidencia (de la caché si está) y la escriben
+ * con una sentencia condicionada a la versión leída (compare-and-set). Si otra petición la ha cambiado
+ * entretanto, se vuelve a leer de la base de datos y se reintenta, de forma que cada evento publicado
+ * lleva el estado anterior real de la incidencia sin bloquear la fila.
+ *
+ * Si el cliente indica la versión que conoce (cabecera If-Match), la escritura no se reintenta sobre
+ * otra versión: falla con PRECONDITION_FAILED (412) para que el cliente vuelva a leer la incidencia.
+ *
+ * @version 1.0.0
+ *
+ *
+ * @author PabloDev09
+ */
+@Slf4j
+@Service
+public class IssueService
+{
+    @Autowired
+    private IIssueRepository iIssueRepository;
+
+    @Autowired
+    private IssueCache issueCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Número de incidencias por bloque y transacción en los cambios de estado en lote
+    @Value("${reaktor.bulk.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Inserta una incidencia y notifica su alta.
+     * Si ya existe una incidencia con la misma clave natural falla con DataIntegrityViolationException.
+     *
+     * @param issueDto     - La incidencia a insertar.
+     * @return IssueEntity - La incidencia insertada.
+     */
+    public IssueEntity create(IssueEntityDto issueDto)
+    {
+        IssueEntity issue = iIssueRepository.saveAndFlush(issueDto);
+        // Notificar el alta de la Issue
+        eventPublisher.publishEvent(IssueEvent.created(issue));
+        return issue;
+    }
+
+    /**
+     * Inserta varias incidencias en lotes JDBC y notifica el alta de cada una.
+     * Si alguna ya existe falla con DataIntegrityViolationException y no se inserta ninguna.
+     *
+     * @param issueDtos          - Las incidencias a insertar.
+     * @return List<IssueEntity> - Las incidencias insertadas.
+     */
+    public List<IssueEntity> createAll(List<IssueEntityDto> issueDtos)
+    {
+        List<IssueEntity> issues = iIssueRepository.insertAll(issueDtos);
+        // Notificar el alta de cada Issue
+        issues.forEach(issue -> eventPublisher.publishEvent(IssueEvent.created(issue)));
+        return issues;
+    }
+
+    /**
+     * Borra una incidencia y notifica su borrado.
+     *
+     * @param idIssue                       - La clave natural de la incidencia.
+     * @throws ReaktorIssuesServerException - Si la incidencia no existe.
+     */
+    public void delete(IdIssue idIssue) throws ReaktorIssuesServerException
+    {
+        compareAndWrite(idIssue, null,
+                previous -> IssueEvent.deleted(previous),
+                event -> iIssueRepository.compareAndDelete(event.getPrevious().getId(), event.getPrevious().getVersion()));
+    }
+
+    /**
+     * Actualiza la descripción y, si se indica, el estado de una incidencia y notifica el cambio.
+     * Sin estado ni versión esperada solo se modifica la descripción, con una única sentencia por clave natural.
+     *
+     * @param issueDto                      - La incidencia con los nuevos valores.
+     * @param ifMatch                       - ETags de la cabecera If-Match, null para no comprobar la versión.
+     * @return IssueEntity                  - La incidencia actualizada, null si solo se ha modificado la descripción sin leerla.
+     * @throws ReaktorIssuesServerException - Si la incidencia no existe, el estado no es válido, la transición no está permitida
+     *                                        o la versión no es la esperada.
+     */
+    public IssueEntity update(IssueEntityDto issueDto, String ifMatch) throws ReaktorIssuesServerException
+    {
+        IdIssue idIssue = new IdIssue(issueDto.getClassNumDto(), issueDto.getProfMailDto(), issueDto.getDateDto());
+        String description = issueDto.getDescDto();
+        String status = issueDto.getStatDto();
+
+        // Sin cambio de estado ni versión esperada no hace falta leer la incidencia
+        if (status == null && ifMatch == null)
+        {
+            if (!iIssueRepository.updateDescription(idIssue, description))
+            {
+                throw ReaktorIssuesServerException.ISSUE_NOT_FOUND;
+            }
+            eventPublisher.publishEvent(IssueEvent.updated(idIssue, description));
+            return null;
+        }
+
+        // El estado no es uno de los estados válidos
+        if (status != null && !Constansts.STATUSES.contains(status))
+        {
+            throw ReaktorIssuesServerException.INVALID_VALUES;
+        }
+
+        return compareAndWrite(idIssue, ifMatch,
+                previous ->
+                {
+                    String nextStatus = status != null ? status : previous.getStatus();
+                    return Objects.equals(nextStatus, previous.getStatus()) || IssueStatusTransitions.isAllowed(previous.getStatus(), nextStatus)
+                            ? IssueEvent.updated(previous, next(previous, description, nextStatus))
+                            : null;
+                },
+                event -> iIssueRepository.compareAndUpdate(event.getPrevious().getId(), description, event.getCurrent().getStatus(),
+                        event.getCurrent().getFinishDate(), event.getPrevious().getVersion())).getCurrent();
+    }
+
+    /**
+     * Cambia el estado de una incidencia y notifica el cambio.
+     *
+     * @param idIssue                       - La clave natural de la incidencia.
+     * @param status                        - El estado a cambiar.
+     * @param ifMatch                       - ETags de la cabecera If-Match, null para no comprobar la versión.
+     * @return IssueEntity                  - La incidencia con el nuevo estado.
+     * @throws ReaktorIssuesServerException - Si la incidencia no existe, el estado no es válido, la transición no está permitida
+     *                                        o la versión no es la esperada.
+     */
+    public IssueEntity changeStatus(IdIssue idIssue, String status, String ifMatch) throws ReaktorIssuesServerException
+    {
+        // Sin estado o no es uno de los estados válidos (Set.of no admite contains(null))
+        if (status == null || !Constansts.STATUSES.contains(status))
+        {
+            throw ReaktorIssuesServerException.INVALID_VALUES;
+        }
+
+        return compareAndWrite(idIssue, ifMatch,
+                previous -> IssueStatusTransitions.isAllowed(previous.getStatus(), status)
+                        ? IssueEvent.statusChanged(previous, next(previous, null, status))
+                        : null,
+                event -> iIssueRepository.compareAndSetStatus(event.getPrevious().getId(), status,
+                        event.getCurrent().getFinishDate(), event.getPrevious().getVersion())).getCurrent();
+    }
+
+    /**
+     * Cambia el estado de varias incidencias, indicadas por identificador o por filtros, y notifica cada cambio.
+     * Las incidencias se cambian en bloques de reaktor.bulk.batch-size, cada bloque en su propia transacción
+     * con una lectura bloqueante (SELECT ... FOR UPDATE) y un único UPDATE ... WHERE id IN (...) (IIssueRepository.changeStatus):
+     * las incidencias que no existen o cuyo estado no permite la transición se indican y no impiden cambiar el resto.
+     *
+     * @param batch                         - Las incidencias y el estado destino.
+     * @return List<IssueStatusResultDto>   - El resultado de cada incidencia, en el orden indicado.
+     * @throws ReaktorIssuesServerException - Si falta el estado o no es válido, o el lote está vacío o tiene demasiadas incidencias.
+     */
+    public List<IssueStatusResultDto> changeStatusAll(IssueStatusBatchDto batch) throws ReaktorIssuesServerException
+    {
+        String status = batch.getStatDto();
+
+        // Sin estado o no es uno de los estados válidos, antes de buscar las incidencias
+        if (status == null || !Constansts.STATUSES.contains(status))
+        {
+            throw ReaktorIssuesServerException.INVALID_VALUES;
+        }
+
+        // Identificadores indicados o, si no hay, los de las incidencias que cumplen los filtros (sin repetir)
+        Set<Long> ids = new LinkedHashSet<>();
+        if (batch.getIds() != null && !batch.getIds().isEmpty())
+        {
+            ids.addAll(batch.getIds());
+        }
+        else if (batch.getFilters() != null)
+        {
+            // Basta con una incidencia más del máximo para saber que el lote es demasiado grande
+            iIssueRepository.findPageByFilters(batch.getFilters(), null, Constansts.MAX_STATUS_BATCH_SIZE + 1)
+                    .forEach(issue -> ids.add(issue.getId()));
+        }
+        ids.remove(null);
+
+        if (ids.isEmpty() || ids.size() > Constansts.MAX_STATUS_BATCH_SIZE)
+        {
+            throw ReaktorIssuesServerException.INVALID_BATCH;
+        }
+
+        Map<Long, IssueStatusResultDto> results = new LinkedHashMap<>();
+        ids.forEach(id -> results.put(id, new IssueStatusResultDto(id, Constansts.BATCH_NOT_FOUND, null)));
+
+        List<Long> pending = new ArrayList<>(ids);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        for (int from = 0; from < pending.size(); from += batchSize)
+        {
+            List<Long> chunk = pending.subList(from, Math.min(from + batchSize, pending.size()));
+            List<IssueEvent> events = transactionTemplate.execute(transaction -> changeStatusChunk(chunk, status, results));
+
+            // Notificar los cambios una vez confirmados
+            events.forEach(eventPublisher::publishEvent);
+        }
+        return new ArrayList<>(results.values());
+    }
+
+    /**
+     * Cambia el estado de un bloque de incidencias dentro de la transacción actual.
+     *
+     * @param ids              - Identificadores de las incidencias del bloque.
+     * @param status           - El estado destino.
+     * @param results          - Resultados por identificador, se actualizan los de las incidencias que existen.
+     * @return List<IssueEvent> - Los cambios escritos, para notificarlos tras el commit.
+     */
+    private List<IssueEvent> changeStatusChunk(List<Long> ids, String status, Map<Long, IssueStatusResultDto> results)
+    {
+        // Fecha del cambio, la misma en los eventos y en la sentencia
+        LocalDateTime now = ZonedDateTime.now(ZoneId.of("Europe/Madrid")).toLocalDateTime();
+        LocalDateTime finishDate = IssueStatusTransitions.finishDate(status, now);
+
+        List<Long> allowed = new ArrayList<>();
+        List<IssueEvent> events = new ArrayList<>();
+        for (IssueEntity previous : iIssueRepository.lockAllById(ids))
+        {
+            if (!IssueStatusTransitions.isAllowed(previous.getStatus(), status))
+            {
+                results.put(previous.getId(), new IssueStatusResultDto(previous.getId(), Constansts.BATCH_NOT_ALLOWED, previous.getStatus()));
+                continue;
+            }
+
+            allowed.add(previous.getId());
+            results.put(previous.getId(), new IssueStatusResultDto(previous.getId(), Constansts.BATCH_CHANGED, status));
+            events.add(IssueEvent.statusChanged(previous, previous.toBuilder()
+                    .status(status)
+                    .finishDate(finishDate)
+                    .version(previous.getVersion() + 1)
+                    .build()));
+        }
+
+        // Las filas están bloqueadas, así que se cambian todas las permitidas
+        iIssueRepository.changeStatus(allowed, status, now);
+        return events;
+    }
+
+    /**
+     * Lee una incidencia, prepara su cambio y lo escribe condicionado a que su versión no haya cambiado.
+     * La primera lectura puede venir de la caché; tras un fallo se lee siempre de la base de datos.
+     *
+     * @param idIssue                       - La clave natural de la incidencia.
+     * @param ifMatch                       - ETags de la cabecera If-Match, null para reintentar con la versión actual.
+     * @param plan                          - Cambio a partir de la incidencia leída, null si no está permitido.
+     * @param write                         - Escritura condicionada, devuelve el número de filas modificadas.
+     * @return IssueEvent                   - El cambio escrito y notificado.
+     * @throws ReaktorIssuesServerException - Si la incidencia no existe, el cambio no está permitido, la versión
+     *                                        no es la esperada o la incidencia cambia en todos los intentos.
+     */
+    private IssueEvent compareAndWrite(IdIssue idIssue, String ifMatch, Function<IssueEntity, IssueEvent> plan,
+            ToIntFunction<IssueEvent> write) throws ReaktorIssuesServerException
+    {
+        boolean fresh = false;
+
+        for (int attempt = 0; attempt < Constansts.MAX_WRITE_ATTEMPTS; attempt++)
+        {
+            // La caché no guarda incidencias inexistentes, así que un fallo viene siempre de la base de datos
+            Optional<IssueEntity> found = fresh ? readFromPrimary(idIssue)
+                    : issueCache.getIssue(idIssue, iIssueRepository::findByIdIssue);
+            if (found.isEmpty())
+            {
+                throw ReaktorIssuesServerException.ISSUE_NOT_FOUND;
+            }
+
+            // Una versión distinta de la esperada solo es definitiva si se ha leído de la base de datos
+            boolean expected = IssueETag.matches(ifMatch, found.get());
+            if (!expected && fresh)
+            {
+                throw ReaktorIssuesServerException.PRECONDITION_FAILED;
+            }
+
+            IssueEvent event = expected ? plan.apply(found.get()) : null;
+            if (event != null && write.applyAsInt(event) == 1)
+            {
+                // Notificar el cambio con el estado anterior y el nuevo
+                eventPublisher.publishEvent(event);
+                return event;
+            }
+
+            // Con el estado leído de la base de datos, un cambio no permitido es definitivo
+            if (expected && event == null && fresh)
+            {
+                throw ReaktorIssuesServerException.NOT_CHANGED_STATUS;
+            }
+
+            // El estado leído estaba desactualizado, volver a leerlo de la base de datos
+            issueCache.evict(idIssue);
+            fresh = true;
+        }
+
+        log.warn("La incidencia {} ha cambiado en {} intentos consecutivos", idIssue, Constansts.MAX_WRITE_ATTEMPTS);
+        throw ReaktorIssuesServerException.CONCURRENT_MODIFICATION;
+    }
+
+    /**
+     * Lee una incidencia en una transacción de lectura y escritura, que con réplicas (ReplicaRoutingDataSource)
+     * va a la base de datos principal: una réplica retrasada devolvería de nuevo la versión que ha fallado.
+     *
+     * @param idIssue                - La clave natural de la incidencia.
+     * @return Optional<IssueEntity> - La incidencia si existe.
+     */
+    private Optional<IssueEntity> readFromPrimary(IdIssue idIssue)
+    {
+        return new TransactionTemplate(transactionManager).execute(status -> iIssueRepository.findByIdIssue(idIssue));
+    }
+
+    /**
+     * Crea la incidencia resultante de cambiar la descripción y el estado de otra.
+     *
+     * @param previous     - La incidencia actual.
+     * @param description  - La nueva descripción, null para mantenerla.
+     * @param status       - El nuevo estado.
+     * @return IssueEntity - La incidencia con los nuevos valores y la siguiente versión.
+     */
+    private static IssueEntity next(IssueEntity previous, String description, String status)
+    {
+        // Sin cambio de estado se mantiene la fecha de finalización
+        LocalDateTime finishDate = Objects.equals(status, previous.getStatus())
+                ? previous.getFinishDate()
+                : IssueStatusTransitions.finishDate(status, ZonedDateTime.now(ZoneId.of("Europe/Madrid")).toLocalDateTime());
+
+        return previous.toBuilder()
+                .description(description != null ? description : previous.getDescription())
+                .status(status)
+                .finishDate(finishDate)
+                .version(previous.getVersion() + 1)
+                .build();
+    }
+}
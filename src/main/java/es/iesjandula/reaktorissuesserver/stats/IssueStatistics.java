@@ -0,0 +1,236 @@
+package es.iesjandula.reaktorissuesserver.stats;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import es.iesjandula.reaktorissuesserver.dto.IssueStatsDto;
+import es.iesjandula.reaktorissuesserver.events.IssueEvent;
+import es.iesjandula.reaktorissuesserver.models.IssueEntity;
+import es.iesjandula.reaktorissuesserver.repository.IIssueArchiveRepository;
+import es.iesjandula.reaktorissuesserver.repository.IIssueRepository;
+import es.iesjandula.reaktorissuesserver.utils.Constansts;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Class: IssueStatistics
+ * Contadores en memoria del número de incidencias por estado, por clase y por profesor,
+ * y del tiempo medio de resolución de las incidencias finalizadas.
+ *
+ * Incluyen las incidencias archivadas (IssueArchiver), que no publican ningún cambio al archivarse.
+ * Se cargan una vez al arrancar con consultas agrupadas (GROUP BY) y después se actualizan con
+ * cada cambio de incidencia (IssueEvent). Los contadores son LongAdder, que reparten las
+ * actualizaciones concurrentes en varias celdas, por lo que consultar las estadísticas no recorre
+ * las incidencias y escribir no compite por un único contador.
+ *
+ * @version 1.0.0
+ *
+ *
+ * @author PabloDev09
+ */
+@Slf4j
+@Component
+public class IssueStatistics implements SmartInitializingSingleton
+{
+    @Autowired
+    private IIssueRepository iIssueRepository;
+
+    @Autowired
+    private IIssueArchiveRepository iIssueArchiveRepository;
+
+    // Incidencias por estado
+    private final Map<String, LongAdder> byStatus = new ConcurrentHashMap<>();
+
+    // Incidencias por clase y estado
+    private final Map<String, Map<String, LongAdder>> byClassroom = new ConcurrentHashMap<>();
+
+    // Incidencias por profesor y estado
+    private final Map<String, Map<String, LongAdder>> byProfessor = new ConcurrentHashMap<>();
+
+    // Incidencias finalizadas con fecha de finalización
+    private final LongAdder finished = new LongAdder();
+
+    // Suma de segundos entre el alta y la finalización de esas incidencias
+    private final LongAdder finishSeconds = new LongAdder();
+
+    /**
+     * Carga los contadores con las incidencias existentes, incluidas las archivadas, antes de atender peticiones.
+     * La transacción no es de solo lectura para leer de la base de datos principal y no de una réplica retrasada.
+     */
+    @Override
+    @Transactional
+    public void afterSingletonsInstantiated()
+    {
+        seed(iIssueRepository.countByClassNumberAndProfessorMailAndStatus(), iIssueRepository.sumFinishTimes());
+        seed(iIssueArchiveRepository.countByClassNumberAndProfessorMailAndStatus(), iIssueArchiveRepository.sumFinishTimes());
+
+        log.info("Estadísticas de incidencias cargadas: {}", snapshot().getByStatus());
+    }
+
+    /**
+     * Suma a los contadores el resultado de las consultas agrupadas.
+     *
+     * @param counts      - Filas con classNumber, professorMail, status y el número de incidencias.
+     * @param finishTimes - Una fila con el número de incidencias finalizadas y la suma de segundos hasta su finalización.
+     */
+    private void seed(List<Object[]> counts, List<Object[]> finishTimes)
+    {
+        for (Object[] row : counts)
+        {
+            add((String) row[0], (String) row[1], (String) row[2], ((Number) row[3]).longValue());
+        }
+
+        if (!finishTimes.isEmpty())
+        {
+            this.finished.add(((Number) finishTimes.get(0)[0]).longValue());
+            this.finishSeconds.add(((Number) finishTimes.get(0)[1]).longValue());
+        }
+    }
+
+    /**
+     * Actualiza los contadores con un cambio de incidencia.
+     * Los cambios con estado desconocido (por ejemplo, solo de descripción) no modifican los contadores.
+     *
+     * @param event - El cambio de la incidencia.
+     */
+    @EventListener
+    public void onIssueEvent(IssueEvent event)
+    {
+        switch (event.getType())
+        {
+            case CREATED -> apply(event.getCurrent(), 1);
+            case DELETED -> apply(event.getPrevious(), -1);
+            default ->
+            {
+                if (isKnown(event.getPrevious()) && isKnown(event.getCurrent()))
+                {
+                    apply(event.getPrevious(), -1);
+                    apply(event.getCurrent(), 1);
+                }
+            }
+        }
+    }
+
+    /**
+     * Devuelve una copia de los contadores actuales.
+     *
+     * @return IssueStatsDto - Incidencias por estado, clase y profesor y tiempo medio de resolución.
+     */
+    public IssueStatsDto snapshot()
+    {
+        long finishedCount = this.finished.sum();
+        Double meanTimeToFinish = finishedCount > 0 ? (double) this.finishSeconds.sum() / finishedCount : null;
+
+        return new IssueStatsDto(toCounts(this.byStatus), toNestedCounts(this.byClassroom), toNestedCounts(this.byProfessor),
+                finishedCount, meanTimeToFinish);
+    }
+
+    /**
+     * Suma o resta una incidencia de los contadores.
+     *
+     * @param issue - La incidencia.
+     * @param sign  - 1 para sumarla, -1 para restarla.
+     */
+    private void apply(IssueEntity issue, int sign)
+    {
+        if (!isKnown(issue))
+        {
+            return;
+        }
+
+        add(issue.getClassNumber(), issue.getProfessorMail(), issue.getStatus(), sign);
+
+        // Solo cuentan para el tiempo medio las incidencias finalizadas con fecha de finalización
+        if (Constansts.STATUS_FINISHED.equals(issue.getStatus()) && issue.getFinishDate() != null && issue.getDate() != null)
+        {
+            this.finished.add(sign);
+            this.finishSeconds.add(sign * Duration.between(issue.getDate(), issue.getFinishDate()).toSeconds());
+        }
+    }
+
+    /**
+     * Suma una cantidad a los contadores de un estado, una clase y un profesor.
+     *
+     * @param classNumber   - El número de clase.
+     * @param professorMail - El correo del profesor.
+     * @param status        - El estado.
+     * @param amount        - La cantidad a sumar.
+     */
+    private void add(String classNumber, String professorMail, String status, long amount)
+    {
+        // Las incidencias sin estado o con estados no válidos no se cuentan
+        if (status == null || !Constansts.STATUSES.contains(status))
+        {
+            return;
+        }
+
+        counter(this.byStatus, status).add(amount);
+        counter(this.byClassroom.computeIfAbsent(classNumber, key -> new ConcurrentHashMap<>()), status).add(amount);
+        counter(this.byProfessor.computeIfAbsent(professorMail, key -> new ConcurrentHashMap<>()), status).add(amount);
+    }
+
+    /**
+     * Comprueba si se conocen los campos de la incidencia que usan los contadores.
+     *
+     * @param issue - La incidencia.
+     * @return true - si se conoce su clase, profesor y estado.
+     */
+    private static boolean isKnown(IssueEntity issue)
+    {
+        return issue != null && issue.getClassNumber() != null && issue.getProfessorMail() != null && issue.getStatus() != null;
+    }
+
+    private static LongAdder counter(Map<String, LongAdder> counters, String status)
+    {
+        return counters.computeIfAbsent(status, key -> new LongAdder());
+    }
+
+    /**
+     * Copia los contadores de estado sin los que están a cero.
+     *
+     * @param counters          - Contadores por estado.
+     * @return Map<String, Long> - Número de incidencias por estado, ordenado.
+     */
+    private static Map<String, Long> toCounts(Map<String, LongAdder> counters)
+    {
+        Map<String, Long> counts = new TreeMap<>();
+        counters.forEach((status, counter) ->
+        {
+            long count = counter.sum();
+            if (count > 0)
+            {
+                counts.put(status, count);
+            }
+        });
+        return counts;
+    }
+
+    /**
+     * Copia los contadores por clase o profesor sin los que están a cero.
+     *
+     * @param counters                       - Contadores por clase o profesor y estado.
+     * @return Map<String, Map<String, Long>> - Número de incidencias por clase o profesor y estado, ordenado.
+     */
+    private static Map<String, Map<String, Long>> toNestedCounts(Map<String, Map<String, LongAdder>> counters)
+    {
+        Map<String, Map<String, Long>> counts = new TreeMap<>();
+        counters.forEach((key, statusCounters) ->
+        {
+            Map<String, Long> statusCounts = toCounts(statusCounters);
+            if (!statusCounts.isEmpty())
+            {
+                counts.put(key, statusCounts);
+            }
+        });
+        return counts;
+    }
+}
@@ -1,5 +1,7 @@
 package es.iesjandula.reaktorissuesserver.utils;
 
+import java.util.Set;
+
 /**
  * Class: Constansts
  * Clase para definir constantes
@@ -22,6 +24,10 @@ public class Constansts {
 	public static final String STATUS_FINISHED = "Finished";
 	// Constante para indicar una Issue 'Cancelada'
 	public static final String STATUS_CANCELED = "Canceled";
+	// Constante con el conjunto de estados válidos de una Issue
+	public static final Set<String> STATUSES = Set.of(STATUS_TO_DO, STATUS_IN_PROCESS, STATUS_FINISHED, STATUS_CANCELED);
+	// Constante para indicar los estados de las incidencias abiertas
+	public static final Set<String> OPEN_STATUSES = Set.of(STATUS_TO_DO, STATUS_IN_PROCESS);
 	
 	// Constante para indicar el error de valores incorrectos
 	public static final String ERROR_INVALID_VALUES = "Valores incorrectos";
@@ -31,6 +37,60 @@ public class Constansts {
 	public static final String ERROR_ISSUE_EXISTS = "Incidencia ya existente";
 	// Constante para indicar el error de incidencia existente
 	public static final String ERROR_NOT_CHANGED_STATUS = "Incidencia no ha podido cambiar de estado";
-	// Constante para indicar el error de lista de incidencias vacía
-	public static final String ERROR_BLANK_ISSUES_LIST = "Lista de incidencia vacía";
+	// Constante para indicar el error de token de continuación inválido
+	public static final String ERROR_INVALID_CURSOR = "Token de continuación inválido";
+	// Constante para indicar el error de incidencia modificada a la vez por otra petición
+	public static final String ERROR_CONCURRENT_MODIFICATION = "Incidencia modificada por otra petición";
+	// Constante para indicar el error de versión de la incidencia distinta de la cabecera If-Match
+	public static final String ERROR_PRECONDITION_FAILED = "Incidencia modificada desde la versión indicada";
+	// Constante para indicar el error de cola de altas asíncronas llena
+	public static final String ERROR_INGEST_QUEUE_FULL = "Cola de altas llena, reintentar más tarde";
+	// Constante para indicar el error de alta asíncrona no encontrada
+	public static final String ERROR_INGEST_NOT_FOUND = "Alta de incidencia no encontrada";
+	// Constante para indicar el error de cambio de estado en lote sin incidencias o con demasiadas
+	public static final String ERROR_INVALID_BATCH = "Lote de incidencias vacío o demasiado grande";
+	// Constante para indicar el error de demasiadas peticiones del mismo cliente
+	public static final String ERROR_RATE_LIMITED = "Demasiadas peticiones, reintentar más tarde";
+	// Constante para indicar el error de base de datos saturada
+	public static final String ERROR_DATABASE_OVERLOADED = "Servidor saturado, reintentar más tarde";
+	
+	// Constante para indicar la longitud máxima del número de clase (columna classNumber)
+	public static final int MAX_CLASS_NUMBER_LENGTH = 50;
+	// Constante para indicar la longitud máxima del correo del profesor (columna professorMail)
+	public static final int MAX_PROFESSOR_MAIL_LENGTH = 100;
+	// Constante para indicar la longitud máxima de la descripción (columna description)
+	public static final int MAX_DESCRIPTION_LENGTH = 255;
+	
+	// Constante para indicar el tamaño de página por defecto del filtrado
+	public static final int DEFAULT_PAGE_SIZE = 100;
+	// Constante para indicar el tamaño de página máximo del filtrado
+	public static final int MAX_PAGE_SIZE = 1000;
+	// Constante para indicar el tamaño de lote de lectura en el modo streaming
+	public static final int STREAM_FETCH_SIZE = 500;
+	// Constante para indicar el número máximo de intentos de una escritura condicionada al estado
+	public static final int MAX_WRITE_ATTEMPTS = 3;
+	// Constante para indicar el número máximo de incidencias de un cambio de estado en lote
+	public static final int MAX_STATUS_BATCH_SIZE = 1000;
+	// Constante para indicar la incidencia del lote que ha cambiado de estado
+	public static final String BATCH_CHANGED = "Changed";
+	// Constante para indicar la incidencia del lote cuyo estado no permite la transición
+	public static final String BATCH_NOT_ALLOWED = "Not allowed";
+	// Constante para indicar la incidencia del lote que no existe
+	public static final String BATCH_NOT_FOUND = "Not found";
+	// Constante para indicar el alta asíncrona aún en cola
+	public static final String INGEST_PENDING = "Pending";
+	// Constante para indicar el alta asíncrona insertada
+	public static final String INGEST_CREATED = "Created";
+	// Constante para indicar el alta asíncrona descartada por existir ya la incidencia
+	public static final String INGEST_DUPLICATE = "Duplicate";
+	// Constante para indicar el alta asíncrona descartada por un error de la incidencia
+	public static final String INGEST_FAILED = "Failed";
+	// Constante para indicar el alta asíncrona añadida como aviso de una incidencia abierta parecida
+	public static final String INGEST_MERGED = "Merged";
+	// Constante para indicar el tipo de contenido NDJSON
+	public static final String MEDIA_TYPE_NDJSON = "application/x-ndjson";
+	// Constante para indicar el tipo de contenido CSV
+	public static final String MEDIA_TYPE_CSV = "text/csv";
+	// Constante para indicar el tipo de contenido Smile (JSON binario de Jackson)
+	public static final String MEDIA_TYPE_SMILE = "application/x-jackson-smile";
 }
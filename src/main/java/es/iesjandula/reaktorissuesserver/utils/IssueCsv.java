@@ -0,0 +1,207 @@
+package es.iesjandula.reaktorissuesserver.utils;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import es.iesjandula.reaktorissuesserver.dto.IssueEntityDto;
+import es.iesjandula.reaktorissuesserver.exceptions.ReaktorIssuesServerException;
+import es.iesjandula.reaktorissuesserver.models.IssueEntity;
+
+/**
+ * Class: IssueCsv
+ * Clase para leer y escribir incidencias en formato CSV (RFC 4180, una incidencia por registro).
+ * Los campos entre comillas pueden contener saltos de línea, por lo que un registro puede ocupar varias líneas.
+ *
+ * Columnas: classNumber,professorMail,date,description,status
+ *
+ * @version 1.0.0
+ *
+ *
+ * @author PabloDev09
+ */
+public final class IssueCsv
+{
+	// Cabecera del CSV
+	public static final String HEADER = "classNumber,professorMail,date,description,status";
+
+	// Número de columnas del CSV
+	private static final int COLUMNS = 5;
+
+	// Clase de utilidades, no instanciable
+	private IssueCsv()
+	{
+	}
+
+	/**
+	 * Lee el siguiente registro CSV. Los saltos de línea dentro de un campo entre comillas
+	 * forman parte del registro; el salto de línea final (\n o \r\n) no se incluye.
+	 *
+	 * @param reader        - Lector del CSV, preferiblemente con búfer.
+	 * @throws IOException  - Si no se puede leer el CSV.
+	 * @return String       - Registro leído o null si no quedan registros.
+	 */
+	public static String readRecord(Reader reader) throws IOException
+	{
+		StringBuilder record = new StringBuilder();
+		boolean quoted = false;
+		int character;
+
+		while ((character = reader.read()) != -1)
+		{
+			if (character == '"')
+			{
+				// Una comilla escapada ("") abre y cierra, por lo que no cambia el estado
+				quoted = !quoted;
+			}
+			else if (character == '\n' && !quoted)
+			{
+				// Fin del registro, sin el \r de un salto de línea \r\n
+				int length = record.length();
+				if (length > 0 && record.charAt(length - 1) == '\r')
+				{
+					record.setLength(length - 1);
+				}
+				return record.toString();
+			}
+			record.append((char) character);
+		}
+
+		return record.isEmpty() ? null : record.toString();
+	}
+
+	/**
+	 * Convierte un registro CSV en una incidencia.
+	 *
+	 * @param line                          - Registro CSV.
+	 * @throws ReaktorIssuesServerException - Si el registro no tiene el número de columnas esperado o la fecha no es válida.
+	 * @return IssueEntityDto               - Incidencia leída (las columnas vacías quedan a null).
+	 */
+	public static IssueEntityDto parse(String line) throws ReaktorIssuesServerException
+	{
+		List<String> fields = split(line);
+
+		// Comprobar el número de columnas
+		if (fields.size() != COLUMNS)
+		{
+			throw ReaktorIssuesServerException.INVALID_VALUES;
+		}
+
+		try
+		{
+			String date = emptyToNull(fields.get(2));
+
+			return new IssueEntityDto(
+					emptyToNull(fields.get(0)),
+					emptyToNull(fields.get(1)),
+					date == null ? null : LocalDateTime.parse(date),
+					emptyToNull(fields.get(3)),
+					emptyToNull(fields.get(4)));
+		}
+		catch (RuntimeException exception)
+		{
+			// Fecha con formato incorrecto
+			throw ReaktorIssuesServerException.INVALID_VALUES;
+		}
+	}
+
+	/**
+	 * Convierte una incidencia en un registro CSV (sin salto de línea final).
+	 *
+	 * @param issue   - Incidencia a escribir.
+	 * @return String - Registro CSV.
+	 */
+	public static String format(IssueEntity issue)
+	{
+		return String.join(",",
+				quote(issue.getClassNumber()),
+				quote(issue.getProfessorMail()),
+				issue.getDate() == null ? "" : issue.getDate().toString(),
+				quote(issue.getDescription()),
+				quote(issue.getStatus()));
+	}
+
+	/**
+	 * Separa un registro CSV en sus campos, respetando las comillas dobles.
+	 *
+	 * @param line          - Registro CSV.
+	 * @return List<String> - Campos del registro.
+	 */
+	private static List<String> split(String line)
+	{
+		List<String> fields = new ArrayList<>(COLUMNS);
+		StringBuilder field = new StringBuilder();
+		boolean quoted = false;
+
+		for (int i = 0; i < line.length(); i++)
+		{
+			char character = line.charAt(i);
+
+			if (quoted)
+			{
+				if (character == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"')
+				{
+					// Comilla escapada
+					field.append('"');
+					i++;
+				}
+				else if (character == '"')
+				{
+					quoted = false;
+				}
+				else
+				{
+					field.append(character);
+				}
+			}
+			else if (character == '"')
+			{
+				quoted = true;
+			}
+			else if (character == ',')
+			{
+				fields.add(field.toString());
+				field.setLength(0);
+			}
+			else
+			{
+				field.append(character);
+			}
+		}
+		fields.add(field.toString());
+
+		return fields;
+	}
+
+	/**
+	 * Entrecomilla un valor si contiene separadores, comillas o saltos de línea.
+	 *
+	 * @param value   - Valor a escribir.
+	 * @return String - Valor listo para el CSV.
+	 */
+	private static String quote(String value)
+	{
+		if (value == null)
+		{
+			return "";
+		}
+		if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0)
+		{
+			return value;
+		}
+		return '"' + value.replace("\"", "\"\"") + '"';
+	}
+
+	/**
+	 * Convierte una cadena vacía en null.
+	 *
+	 * @param value   - Valor leído.
+	 * @return String - El valor o null si está vacío.
+	 */
+	private static String emptyToNull(String value)
+	{
+		return value.isBlank() ? null : value.strip();
+	}
+}
@@ -0,0 +1,89 @@
+package es.iesjandula.reaktorissuesserver.utils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import es.iesjandula.reaktorissuesserver.exceptions.ReaktorIssuesServerException;
+import es.iesjandula.reaktorissuesserver.models.IdIssue;
+import es.iesjandula.reaktorissuesserver.models.IssueEntity;
+
+/**
+ * Class: IssueCursor
+ * Clase para codificar y decodificar el token opaco de continuación de la paginación por clave (keyset).
+ *
+ * El token contiene la última posición devuelta (date, classNumber, professorMail) en Base64 URL,
+ * de forma que el cliente solo tiene que reenviarlo para obtener la página siguiente.
+ *
+ * @version 1.0.0
+ *
+ *
+ * @author PabloDev09
+ */
+public final class IssueCursor
+{
+	// Codificador Base64 URL sin relleno
+	private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+	// Decodificador Base64 URL
+	private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+	// Clase de utilidades, no instanciable
+	private IssueCursor()
+	{
+	}
+
+	/**
+	 * Codifica la posición de la última incidencia de una página.
+	 *
+	 * @param issue   - La última incidencia devuelta.
+	 * @return String - Token opaco de continuación.
+	 */
+	public static String encode(IssueEntity issue)
+	{
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+		try (DataOutputStream out = new DataOutputStream(bytes))
+		{
+			// Escribir las columnas del orden de la paginación
+			out.writeUTF(issue.getDate().toString());
+			out.writeUTF(issue.getClassNumber());
+			out.writeUTF(issue.getProfessorMail());
+		}
+		catch (IOException ioException)
+		{
+			// Un ByteArrayOutputStream no produce errores de E/S
+			throw new IllegalStateException(ioException);
+		}
+
+		return ENCODER.encodeToString(bytes.toByteArray());
+	}
+
+	/**
+	 * Decodifica un token de continuación a la posición de la incidencia a partir de la cual continuar.
+	 *
+	 * @param cursor                        - Token opaco recibido del cliente.
+	 * @throws ReaktorIssuesServerException - Si el token no es válido.
+	 * @return IdIssue                      - Posición (classNumber, professorMail, date) del cursor.
+	 */
+	public static IdIssue decode(String cursor) throws ReaktorIssuesServerException
+	{
+		try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(DECODER.decode(cursor))))
+		{
+			LocalDateTime date = LocalDateTime.parse(in.readUTF());
+			String classNumber = in.readUTF();
+			String professorMail = in.readUTF();
+
+			return new IdIssue(classNumber, professorMail, date);
+		}
+		catch (IOException | IllegalArgumentException | DateTimeParseException exception)
+		{
+			// Token manipulado o truncado
+			throw ReaktorIssuesServerException.INVALID_CURSOR;
+		}
+	}
+}
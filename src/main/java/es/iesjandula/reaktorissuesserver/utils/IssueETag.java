@@ -0,0 +1,61 @@
+package es.iesjandula.reaktorissuesserver.utils;
+
+import es.iesjandula.reaktorissuesserver.models.IssueEntity;
+
+/**
+ * Class: IssueETag
+ * Clase para generar y comparar los ETag de las incidencias.
+ *
+ * El ETag contiene el identificador y la versión de la incidencia ("id.version"), de forma que cambia
+ * con cada escritura y no coincide entre incidencias distintas servidas desde la misma URL.
+ * Se compara como ETag fuerte: los ETag débiles (W/) de la cabecera If-Match no coinciden nunca.
+ *
+ * @version 1.0.0
+ *
+ *
+ * @author PabloDev09
+ */
+public final class IssueETag
+{
+	// Clase de utilidades, no instanciable
+	private IssueETag()
+	{
+	}
+
+	/**
+	 * Genera el ETag de una incidencia.
+	 *
+	 * @param issue   - La incidencia.
+	 * @return String - ETag entre comillas.
+	 */
+	public static String of(IssueEntity issue)
+	{
+		return "\"" + issue.getId() + "." + issue.getVersion() + "\"";
+	}
+
+	/**
+	 * Comprueba si la versión actual de una incidencia cumple la cabecera If-Match.
+	 *
+	 * @param ifMatch  - Valor de la cabecera If-Match: "*" o una lista de ETags separados por comas, null si no se indica.
+	 * @param issue    - La incidencia actual.
+	 * @return boolean - true si no se indica la cabecera, es "*" o contiene el ETag actual de la incidencia.
+	 */
+	public static boolean matches(String ifMatch, IssueEntity issue)
+	{
+		if (ifMatch == null)
+		{
+			return true;
+		}
+
+		String current = of(issue);
+		for (String etag : ifMatch.split(","))
+		{
+			String candidate = etag.trim();
+			if ("*".equals(candidate) || current.equals(candidate))
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,92 @@
+package es.iesjandula.reaktorissuesserver.utils;
+
+import java.text.Normalizer;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Class: IssueSimilarity
+ * Clase para comparar descripciones de incidencias por sus palabras normalizadas.
+ *
+ * Cada descripción se reduce a un conjunto de palabras en minúsculas, sin acentos y sin palabras
+ * vacías ni de menos de tres letras; la similitud es el índice de Jaccard de los dos conjuntos
+ * (palabras comunes entre palabras totales), de 0 (ninguna en común) a 1 (las mismas palabras).
+ *
+ * @version 1.0.0
+ *
+ *
+ * @author PabloDev09
+ */
+public final class IssueSimilarity
+{
+	// Marcas diacríticas que quedan al descomponer los caracteres acentuados
+	private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+	// Separadores de palabras
+	private static final Pattern SEPARATORS = Pattern.compile("[^\\p{Alnum}]+");
+
+	// Palabras vacías frecuentes en las descripciones
+	private static final Set<String> STOPWORDS = Set.of("los", "las", "del", "que", "una", "uno", "unos", "unas", "por",
+			"con", "para", "sin", "muy", "mas", "esta", "este", "estan", "hay", "desde", "pero", "como", "clase", "aula");
+
+	// Clase de utilidades, no instanciable
+	private IssueSimilarity()
+	{
+	}
+
+	/**
+	 * Reduce una descripción a su conjunto de palabras normalizadas.
+	 *
+	 * @param description - La descripción, puede ser null.
+	 * @return Set<String> - Las palabras normalizadas.
+	 */
+	public static Set<String> tokens(String description)
+	{
+		Set<String> tokens = new HashSet<>();
+		if (description == null)
+		{
+			return tokens;
+		}
+
+		String normalized = DIACRITICS.matcher(Normalizer.normalize(description, Normalizer.Form.NFD)).replaceAll("")
+				.toLowerCase(Locale.ROOT);
+		for (String token : SEPARATORS.split(normalized))
+		{
+			if (token.length() >= 3 && !STOPWORDS.contains(token))
+			{
+				tokens.add(token);
+			}
+		}
+		return tokens;
+	}
+
+	/**
+	 * Calcula el índice de Jaccard de dos conjuntos de palabras.
+	 *
+	 * @param first   - Las palabras de una descripción.
+	 * @param second  - Las palabras de la otra descripción.
+	 * @return double - La similitud, 0 si alguno de los conjuntos está vacío.
+	 */
+	public static double jaccard(Set<String> first, Set<String> second)
+	{
+		if (first.isEmpty() || second.isEmpty())
+		{
+			return 0;
+		}
+
+		Set<String> smaller = first.size() <= second.size() ? first : second;
+		Set<String> larger = smaller == first ? second : first;
+
+		int common = 0;
+		for (String token : smaller)
+		{
+			if (larger.contains(token))
+			{
+				common++;
+			}
+		}
+		return (double) common / (first.size() + second.size() - common);
+	}
+}
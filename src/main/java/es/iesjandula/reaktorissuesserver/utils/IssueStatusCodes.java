@@ -0,0 +1,49 @@
+package es.iesjandula.reaktorissuesserver.utils;
+
+import java.util.List;
+
+/**
+ * Class: IssueStatusCodes
+ * Clase que codifica cada estado válido de una Issue con un número, para enviarlo en los formatos binarios
+ * (CBOR, Smile) con uno o dos bytes en lugar del texto del estado.
+ *
+ * Los códigos son la posición del estado en CODES: solo se pueden añadir estados al final.
+ *
+ * @version 1.0.0
+ *
+ *
+ * @author PabloDev09
+ */
+public final class IssueStatusCodes
+{
+	// Estados por código
+	private static final List<String> CODES = List.of(Constansts.STATUS_TO_DO, Constansts.STATUS_IN_PROCESS,
+			Constansts.STATUS_FINISHED, Constansts.STATUS_CANCELED);
+
+	// Clase de utilidades, no instanciable
+	private IssueStatusCodes()
+	{
+	}
+
+	/**
+	 * Devuelve el código de un estado.
+	 *
+	 * @param status - El estado.
+	 * @return int   - El código, -1 si el estado no es válido.
+	 */
+	public static int code(String status)
+	{
+		return status == null ? -1 : CODES.indexOf(status);
+	}
+
+	/**
+	 * Devuelve el estado de un código.
+	 *
+	 * @param code    - El código.
+	 * @return String - El estado, null si el código no es válido.
+	 */
+	public static String status(int code)
+	{
+		return code >= 0 && code < CODES.size() ? CODES.get(code) : null;
+	}
+}
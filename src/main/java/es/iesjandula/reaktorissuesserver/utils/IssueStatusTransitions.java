@@ -0,0 +1,99 @@
+package es.iesjandula.reaktorissuesserver.utils;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Class: IssueStatusTransitions
+ * Clase que define la máquina de estados de una Issue.
+ *
+ * To do      -> In process, Canceled
+ * In process -> To do, Finished, Canceled
+ * Finished   -> To do (reabrir)
+ * Canceled   -> To do (reabrir)
+ *
+ * Para poder validar la transición en la propia sentencia UPDATE se precalcula, para cada
+ * estado destino, el conjunto de estados origen desde los que se puede llegar a él.
+ *
+ * @version 1.0.0
+ *
+ *
+ * @author PabloDev09
+ */
+public final class IssueStatusTransitions
+{
+	// Estados destino permitidos desde cada estado origen
+	private static final Map<String, Set<String>> TRANSITIONS = Map.of(
+			Constansts.STATUS_TO_DO, Set.of(Constansts.STATUS_IN_PROCESS, Constansts.STATUS_CANCELED),
+			Constansts.STATUS_IN_PROCESS, Set.of(Constansts.STATUS_TO_DO, Constansts.STATUS_FINISHED, Constansts.STATUS_CANCELED),
+			Constansts.STATUS_FINISHED, Set.of(Constansts.STATUS_TO_DO),
+			Constansts.STATUS_CANCELED, Set.of(Constansts.STATUS_TO_DO));
+
+	// Estados origen desde los que se puede llegar a cada estado destino
+	private static final Map<String, Set<String>> SOURCES = invert(TRANSITIONS);
+
+	// Clase de utilidades, no instanciable
+	private IssueStatusTransitions()
+	{
+	}
+
+	/**
+	 * Comprueba si se puede pasar de un estado a otro.
+	 *
+	 * @param from  - Estado actual, null si la incidencia no tiene estado.
+	 * @param to    - Estado destino.
+	 * @return true - si la transición está permitida; false en caso contrario o si algún estado es null.
+	 */
+	public static boolean isAllowed(String from, String to)
+	{
+		// Map.of y Set.of no admiten consultas con null: una incidencia sin estado no puede cambiar de estado
+		return from != null && to != null && TRANSITIONS.getOrDefault(from, Set.of()).contains(to);
+	}
+
+	/**
+	 * Devuelve los estados desde los que se puede pasar al estado destino.
+	 *
+	 * @param to           - Estado destino.
+	 * @return Set<String> - Estados origen, vacío si el estado destino no es válido o es null.
+	 */
+	public static Set<String> sourcesOf(String to)
+	{
+		return to != null ? SOURCES.getOrDefault(to, Set.of()) : Set.of();
+	}
+
+	/**
+	 * Devuelve la fecha de finalización de una incidencia que pasa a un estado:
+	 * al pasar a Finished se guarda la fecha del cambio y con cualquier otro estado se borra.
+	 *
+	 * @param to             - Estado destino.
+	 * @param now            - Fecha del cambio.
+	 * @return LocalDateTime - La fecha de finalización, null si el estado destino no es Finished.
+	 */
+	public static LocalDateTime finishDate(String to, LocalDateTime now)
+	{
+		return Constansts.STATUS_FINISHED.equals(to) ? now : null;
+	}
+
+	/**
+	 * Invierte el mapa de transiciones (origen -> destinos) a (destino -> orígenes).
+	 *
+	 * @param transitions              - Mapa de transiciones.
+	 * @return Map<String, Set<String>> - Mapa de estados origen por estado destino.
+	 */
+	private static Map<String, Set<String>> invert(Map<String, Set<String>> transitions)
+	{
+		Map<String, Set<String>> sources = new HashMap<>();
+
+		transitions.forEach((from, targets) ->
+			targets.forEach(to -> sources.computeIfAbsent(to, key -> new HashSet<>()).add(from)));
+
+		// Copias inmutables
+		Map<String, Set<String>> result = new HashMap<>();
+		sources.forEach((to, from) -> result.put(to, Set.copyOf(from)));
+
+		return Map.copyOf(result);
+	}
+}
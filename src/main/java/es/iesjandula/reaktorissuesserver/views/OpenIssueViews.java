@@ -0,0 +1,261 @@
+package es.iesjandula.reaktorissuesserver.views;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import es.iesjandula.reaktorissuesserver.events.IssueEvent;
+import es.iesjandula.reaktorissuesserver.models.IdIssue;
+import es.iesjandula.reaktorissuesserver.models.IssueEntity;
+import es.iesjandula.reaktorissuesserver.repository.IIssueRepository;
+import es.iesjandula.reaktorissuesserver.utils.Constansts;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Class: OpenIssueViews
+ * Vistas en memoria de las incidencias abiertas ("To do", "In process") por clase y por profesor,
+ * para los tableros "incidencias abiertas de la clase X" y "mis incidencias abiertas".
+ *
+ * Se cargan una vez al arrancar y después se actualizan con cada cambio de incidencia (IssueEvent),
+ * que se publica tras cada escritura. Consultar una vista solo recorre las incidencias abiertas de esa
+ * clase o profesor, sin importar cuántas incidencias cerradas o archivadas haya.
+ *
+ * Los eventos se publican desde los hilos de las peticiones y pueden llegar desordenados, así que cada
+ * incidencia guarda su versión: un cambio con una versión anterior a la guardada ya está superado y se descarta.
+ * De las incidencias que dejan las vistas (cerradas o borradas) se recuerda la versión durante un tiempo,
+ * para que un cambio anterior que llega tarde no las vuelva a abrir.
+ *
+ * @version 1.0.0
+ *
+ *
+ * @author PabloDev09
+ */
+@Slf4j
+@Component
+public class OpenIssueViews implements SmartInitializingSingleton
+{
+	// Orden de las vistas: las más recientes primero
+	private static final Comparator<IssueEntity> NEWEST_FIRST = Comparator.comparing(IssueEntity::getDate).reversed();
+
+	// Tiempo durante el que se recuerda la versión de una incidencia que ha dejado las vistas
+	private static final Duration CLOSED_VERSION_TTL = Duration.ofMinutes(10);
+
+	// Número máximo de versiones recordadas de incidencias que han dejado las vistas
+	private static final long CLOSED_VERSION_MAXIMUM_SIZE = 10_000;
+
+	@Autowired
+	private IIssueRepository iIssueRepository;
+
+	// Incidencias abiertas por clave natural
+	private final Map<IdIssue, IssueEntity> openIssues = new ConcurrentHashMap<>();
+
+	// Claves de las incidencias abiertas por clase
+	private final Map<String, Set<IdIssue>> byClassroom = new ConcurrentHashMap<>();
+
+	// Claves de las incidencias abiertas por profesor
+	private final Map<String, Set<IdIssue>> byProfessor = new ConcurrentHashMap<>();
+
+	// Versión con la que cada incidencia dejó las vistas (cerrada o borrada)
+	private final Cache<IdIssue, Long> closedVersions = Caffeine.newBuilder()
+			.expireAfterWrite(CLOSED_VERSION_TTL)
+			.maximumSize(CLOSED_VERSION_MAXIMUM_SIZE)
+			.build();
+
+	/**
+	 * Carga las incidencias abiertas antes de atender peticiones.
+	 * La transacción no es de solo lectura para leer de la base de datos principal y no de una réplica retrasada.
+	 */
+	@Override
+	@Transactional
+	public void afterSingletonsInstantiated()
+	{
+		List<IssueEntity> issues = iIssueRepository.findByStatusIn(Constansts.OPEN_STATUSES);
+		issues.forEach(this::apply);
+
+		log.info("Vistas de incidencias abiertas cargadas: {} incidencias", issues.size());
+	}
+
+	/**
+	 * Devuelve las incidencias abiertas de una clase.
+	 *
+	 * @param classNumber        - El número de clase.
+	 * @return List<IssueEntity> - Las incidencias abiertas, las más recientes primero.
+	 */
+	public List<IssueEntity> byClassroom(String classNumber)
+	{
+		return view(this.byClassroom.get(classNumber));
+	}
+
+	/**
+	 * Devuelve las incidencias abiertas de un profesor.
+	 *
+	 * @param professorMail      - El correo del profesor.
+	 * @return List<IssueEntity> - Las incidencias abiertas, las más recientes primero.
+	 */
+	public List<IssueEntity> byProfessor(String professorMail)
+	{
+		return view(this.byProfessor.get(professorMail));
+	}
+
+	/**
+	 * Actualiza las vistas con un cambio de incidencia.
+	 *
+	 * @param event - El cambio de la incidencia.
+	 */
+	@EventListener
+	public void onIssueEvent(IssueEvent event)
+	{
+		switch (event.getType())
+		{
+			case CREATED -> apply(event.getCurrent());
+			// Cualquier cambio anterior al borrado que llegue después queda superado
+			case DELETED -> apply(event.getPrevious().toBuilder()
+					.status(null)
+					.version(event.getPrevious().getVersion() + 1)
+					.build());
+			default -> update(event.getCurrent());
+		}
+	}
+
+	/**
+	 * Aplica el estado de una incidencia: si está abierta se añade o se sustituye (por ejemplo, al reabrirla)
+	 * y si no se quita. Se descarta si ya se ha aplicado una versión posterior de la incidencia.
+	 *
+	 * @param issue - La incidencia con su estado y su versión.
+	 */
+	private void apply(IssueEntity issue)
+	{
+		IdIssue idIssue = idIssue(issue);
+		// Dentro de compute para que dos eventos de la misma incidencia no se apliquen a la vez
+		this.openIssues.compute(idIssue, (key, stored) ->
+		{
+			if (isOutdated(key, stored, issue.getVersion()))
+			{
+				return stored;
+			}
+
+			// Las incidencias sin estado (columna status a NULL) no están abiertas
+			if (issue.getStatus() != null && Constansts.OPEN_STATUSES.contains(issue.getStatus()))
+			{
+				this.closedVersions.invalidate(key);
+				if (stored == null)
+				{
+					addKey(this.byClassroom, issue.getClassNumber(), key);
+					addKey(this.byProfessor, issue.getProfessorMail(), key);
+				}
+				return issue;
+			}
+
+			this.closedVersions.put(key, issue.getVersion());
+			if (stored != null)
+			{
+				removeKey(this.byClassroom, issue.getClassNumber(), key);
+				removeKey(this.byProfessor, issue.getProfessorMail(), key);
+			}
+			return null;
+		});
+	}
+
+	/**
+	 * Actualiza una incidencia modificada: con estado se aplica su nuevo estado y sin estado
+	 * (solo descripción) se cambia su descripción si está abierta.
+	 *
+	 * @param issue - La incidencia modificada.
+	 */
+	private void update(IssueEntity issue)
+	{
+		if (issue.getStatus() != null)
+		{
+			apply(issue);
+			return;
+		}
+
+		// El evento no trae la versión de la base de datos: se incrementa la guardada
+		if (issue.getDescription() != null)
+		{
+			this.openIssues.computeIfPresent(idIssue(issue), (key, open) -> open.toBuilder()
+					.description(issue.getDescription())
+					.version(open.getVersion() + 1)
+					.build());
+		}
+	}
+
+	/**
+	 * Comprueba si un cambio es anterior al último aplicado de la incidencia, esté abierta o haya dejado las vistas.
+	 *
+	 * @param idIssue - La clave natural de la incidencia.
+	 * @param stored  - La incidencia abierta guardada, null si no está en las vistas.
+	 * @param version - La versión del cambio.
+	 * @return true   - si el cambio ya está superado y hay que descartarlo.
+	 */
+	private boolean isOutdated(IdIssue idIssue, IssueEntity stored, long version)
+	{
+		if (stored != null)
+		{
+			// Con la misma versión se aplica: la guardada puede venir de un cambio de descripción sin versión real
+			return version < stored.getVersion();
+		}
+
+		Long closedVersion = this.closedVersions.getIfPresent(idIssue);
+		return closedVersion != null && version < closedVersion;
+	}
+
+	/**
+	 * Devuelve las incidencias abiertas de un conjunto de claves ordenadas por fecha.
+	 *
+	 * @param keys               - Las claves, null si no hay ninguna.
+	 * @return List<IssueEntity> - Las incidencias abiertas.
+	 */
+	private List<IssueEntity> view(Collection<IdIssue> keys)
+	{
+		if (keys == null)
+		{
+			return List.of();
+		}
+
+		return keys.stream()
+				.map(this.openIssues::get)
+				.filter(issue -> issue != null)
+				.sorted(NEWEST_FIRST)
+				.toList();
+	}
+
+	private static void addKey(Map<String, Set<IdIssue>> view, String key, IdIssue idIssue)
+	{
+		// Dentro de compute para no añadir a un conjunto que removeKey acaba de quitar por vacío
+		view.compute(key, (k, keys) ->
+		{
+			Set<IdIssue> result = keys != null ? keys : ConcurrentHashMap.newKeySet();
+			result.add(idIssue);
+			return result;
+		});
+	}
+
+	private static void removeKey(Map<String, Set<IdIssue>> view, String key, IdIssue idIssue)
+	{
+		// Quitar también el conjunto vacío, para no acumular clases o profesores sin incidencias abiertas
+		view.computeIfPresent(key, (k, keys) ->
+		{
+			keys.remove(idIssue);
+			return keys.isEmpty() ? null : keys;
+		});
+	}
+
+	private static IdIssue idIssue(IssueEntity issue)
+	{
+		return new IdIssue(issue.getClassNumber(), issue.getProfessorMail(), issue.getDate());
+	}
+}
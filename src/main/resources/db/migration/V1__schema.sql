@@ -0,0 +1,81 @@
+-- Esquema inicial de incidencias (MySQL 8).
+-- Sustituye a spring.jpa.hibernate.ddl-auto: update y a MySqlSchemaInitializer. Las bases de datos creadas
+-- con ddl-auto se marcan como versión 1 sin ejecutar este script (spring.flyway.baseline-on-migrate).
+
+-- Incidencias
+CREATE TABLE issue (
+    id             BIGINT       NOT NULL,
+    class_number   VARCHAR(50)  NOT NULL,
+    professor_mail VARCHAR(100) NOT NULL,
+    date           DATETIME(6)  NOT NULL,
+    description    VARCHAR(255),
+    status         VARCHAR(255),
+    finish_date    DATETIME(6),
+    version        BIGINT       NOT NULL,
+    PRIMARY KEY (id),
+    -- Clave natural (classNumber, professorMail, date), antigua clave primaria
+    CONSTRAINT uk_issue_natural_key UNIQUE (class_number, professor_mail, date),
+    -- Filtro por estado ordenado por fecha
+    INDEX idx_issue_status_date (status, date),
+    -- Incidencias de un profesor ordenadas por fecha
+    INDEX idx_issue_professor_date (professor_mail, date),
+    -- Incidencias de una clase por estado
+    INDEX idx_issue_class_status (class_number, status),
+    -- Búsqueda por texto de /incidencias/buscar
+    FULLTEXT INDEX ft_issue_description (description)
+) ENGINE = InnoDB;
+
+-- Secuencia de issue (MySQL no tiene secuencias: Hibernate usa una tabla con el siguiente valor)
+CREATE TABLE issue_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+INSERT INTO issue_seq VALUES (1);
+
+-- Incidencias cerradas archivadas, particionadas por año de la fecha.
+-- Las incidencias posteriores a la última partición anual van a pmax hasta que una migración la divida.
+CREATE TABLE issue_archive (
+    id             BIGINT       NOT NULL,
+    date           DATETIME(6)  NOT NULL,
+    class_number   VARCHAR(50)  NOT NULL,
+    professor_mail VARCHAR(100) NOT NULL,
+    description    VARCHAR(255),
+    status         VARCHAR(255),
+    finish_date    DATETIME(6),
+    archived_date  DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id, date),
+    -- Búsqueda por clave natural (classNumber, professorMail, date)
+    INDEX idx_issue_archive_natural_key (class_number, professor_mail, date),
+    -- Filtro por estado ordenado por fecha
+    INDEX idx_issue_archive_status_date (status, date)
+) ENGINE = InnoDB
+PARTITION BY RANGE (YEAR(date)) (
+    PARTITION p2021 VALUES LESS THAN (2022),
+    PARTITION p2022 VALUES LESS THAN (2023),
+    PARTITION p2023 VALUES LESS THAN (2024),
+    PARTITION p2024 VALUES LESS THAN (2025),
+    PARTITION p2025 VALUES LESS THAN (2026),
+    PARTITION p2026 VALUES LESS THAN (2027),
+    PARTITION p2027 VALUES LESS THAN (2028),
+    PARTITION p2028 VALUES LESS THAN (2029),
+    PARTITION p2029 VALUES LESS THAN (2030),
+    PARTITION p2030 VALUES LESS THAN (2031),
+    PARTITION pmax VALUES LESS THAN MAXVALUE
+);
+
+-- Avisos de incidencias repetidas adjuntos a una incidencia abierta
+CREATE TABLE issue_report (
+    id             BIGINT       NOT NULL,
+    issue_id       BIGINT       NOT NULL,
+    professor_mail VARCHAR(100) NOT NULL,
+    date           DATETIME(6)  NOT NULL,
+    description    VARCHAR(255),
+    PRIMARY KEY (id),
+    -- Avisos de una incidencia por fecha
+    INDEX idx_issue_report_issue_date (issue_id, date)
+) ENGINE = InnoDB;
+
+-- Secuencia de issue_report
+CREATE TABLE issue_report_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+INSERT INTO issue_report_seq VALUES (1);
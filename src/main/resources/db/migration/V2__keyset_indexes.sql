@@ -0,0 +1,15 @@
+-- Índices que sirven el orden de la paginación por clave de /filtrar (date, classNumber, professorMail).
+-- Con id como clave primaria, InnoDB ya no añade classNumber y professorMail al final de cada índice,
+-- así que se añaden explícitamente para que una página se lea del índice sin ordenar todas las filas del filtro.
+
+ALTER TABLE issue
+    DROP INDEX idx_issue_status_date,
+    ADD INDEX idx_issue_status_date (status, date, class_number, professor_mail),
+    DROP INDEX idx_issue_professor_date,
+    ADD INDEX idx_issue_professor_date (professor_mail, date, class_number),
+    DROP INDEX idx_issue_class_status,
+    ADD INDEX idx_issue_class_status (class_number, status, date, professor_mail);
+
+ALTER TABLE issue_archive
+    DROP INDEX idx_issue_archive_status_date,
+    ADD INDEX idx_issue_archive_status_date (status, date, class_number, professor_mail);
@@ -0,0 +1,71 @@
+package es.iesjandula.reaktorissuesserver.admission;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+class AdaptiveConcurrencyLimiterTests {
+
+	private static final long FAST = Duration.ofMillis(10).toNanos();
+
+	private static final long SLOW = Duration.ofSeconds(1).toNanos();
+
+	@Test
+	void callsAboveTheLimitAreRejected() {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, Duration.ofMillis(100), 0.5);
+
+		assertTrue(limiter.tryAcquire());
+		assertTrue(limiter.tryAcquire());
+		assertFalse(limiter.tryAcquire());
+
+		limiter.release(FAST, false);
+		assertTrue(limiter.tryAcquire());
+	}
+
+	@Test
+	void slowCallsShrinkTheLimitDownToTheMinimum() {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(8, 2, 10, Duration.ofMillis(100), 0.5);
+
+		for (int i = 0; i < 5; i++) {
+			limiter.tryAcquire();
+			limiter.release(SLOW, false);
+		}
+
+		assertEquals(2, limiter.getLimit());
+	}
+
+	@Test
+	void batchCallsOnlyShrinkTheLimitWhenOverloaded() {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(8, 2, 10, Duration.ofMillis(100), 0.5);
+
+		for (int i = 0; i < 5; i++) {
+			limiter.tryAcquire();
+			limiter.release(false);
+		}
+		assertEquals(8, limiter.getLimit());
+		assertEquals(0, limiter.getInFlight());
+
+		limiter.tryAcquire();
+		limiter.release(true);
+		assertEquals(4, limiter.getLimit());
+	}
+
+	@Test
+	void fastCallsUnderLoadGrowTheLimit() {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, Duration.ofMillis(100), 0.5);
+
+		for (int i = 0; i < 20; i++) {
+			limiter.tryAcquire();
+			limiter.tryAcquire();
+			limiter.release(FAST, false);
+			limiter.release(FAST, false);
+		}
+
+		assertTrue(limiter.getLimit() > 2);
+	}
+
+}
@@ -0,0 +1,41 @@
+package es.iesjandula.reaktorissuesserver.admission;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class TokenBucketTests {
+
+	private static final long SECOND = 1_000_000_000L;
+
+	@Test
+	void burstIsAdmittedThenRejected() {
+		TokenBucket bucket = new TokenBucket(10, 5, 0);
+
+		for (int i = 0; i < 5; i++) {
+			assertEquals(0, bucket.tryAcquire(0));
+		}
+		long wait = bucket.tryAcquire(0);
+		assertTrue(wait > 0 && wait <= SECOND / 10);
+	}
+
+	@Test
+	void tokensRefillAtTheConfiguredRate() {
+		TokenBucket bucket = new TokenBucket(10, 1, 0);
+
+		assertEquals(0, bucket.tryAcquire(0));
+		assertTrue(bucket.tryAcquire(SECOND / 20) > 0);
+		assertEquals(0, bucket.tryAcquire(SECOND / 10));
+	}
+
+	@Test
+	void idleTimeDoesNotExceedTheCapacity() {
+		TokenBucket bucket = new TokenBucket(10, 2, 0);
+
+		assertEquals(0, bucket.tryAcquire(60 * SECOND));
+		assertEquals(0, bucket.tryAcquire(60 * SECOND));
+		assertTrue(bucket.tryAcquire(60 * SECOND) > 0);
+	}
+
+}
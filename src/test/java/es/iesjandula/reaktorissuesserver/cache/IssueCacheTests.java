@@ -0,0 +1,77 @@
+package es.iesjandula.reaktorissuesserver.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import es.iesjandula.reaktorissuesserver.dto.IssueEntityDto;
+import es.iesjandula.reaktorissuesserver.events.IssueEvent;
+import es.iesjandula.reaktorissuesserver.models.IdIssue;
+import es.iesjandula.reaktorissuesserver.models.IssueEntity;
+import es.iesjandula.reaktorissuesserver.utils.Constansts;
+
+class IssueCacheTests {
+
+	private static final LocalDateTime DATE = LocalDateTime.of(2024, 10, 1, 9, 0);
+
+	private final IssueCache cache = new IssueCache(100, Duration.ofMinutes(5), 100, Duration.ofSeconds(30), false, Duration.ofSeconds(5));
+
+	private final AtomicInteger loads = new AtomicInteger();
+
+	@Test
+	void filtersAreMatchedWithoutCase() {
+		IssueFilterKey key = IssueFilterKey.of(new IssueEntityDto("1daw", null, null, null, null), null, 10);
+
+		assertEquals(key, IssueFilterKey.of(new IssueEntityDto("1DAW", null, null, null, null), null, 10));
+		assertTrue(key.mayMatch(issue("1DAW", "Profesor1@iesjandula.es")));
+	}
+
+	@Test
+	void creatingAnIssueEvictsPagesFilteredWithAnotherCase() {
+		IssueFilterKey key = IssueFilterKey.of(new IssueEntityDto("1daw", null, null, null, Constansts.STATUS_TO_DO), null, 10);
+		this.cache.getPage(key, this::load);
+
+		this.cache.onIssueEvent(IssueEvent.created(issue("1DAW", "profesor1@iesjandula.es")));
+		this.cache.getPage(key, this::load);
+
+		assertEquals(2, this.loads.get());
+	}
+
+	@Test
+	void writingAnIssueEvictsItUnderAnyCase() {
+		IdIssue requested = new IdIssue("1daw", "PROFESOR1@iesjandula.es", DATE);
+		this.cache.getIssue(requested, key -> Optional.of(issue("1DAW", "profesor1@iesjandula.es")));
+
+		this.cache.onIssueEvent(IssueEvent.deleted(issue("1DAW", "profesor1@iesjandula.es")));
+		this.cache.getIssue(requested, key -> {
+			this.loads.incrementAndGet();
+			return Optional.empty();
+		});
+
+		assertEquals(1, this.loads.get());
+	}
+
+	private List<IssueEntity> load() {
+		this.loads.incrementAndGet();
+		return List.of();
+	}
+
+	private static IssueEntity issue(String classNumber, String professorMail) {
+		return IssueEntity.builder()
+				.id(1L)
+				.classNumber(classNumber)
+				.professorMail(professorMail)
+				.date(DATE)
+				.description("Proyector roto")
+				.status(Constansts.STATUS_TO_DO)
+				.build();
+	}
+
+}
@@ -0,0 +1,57 @@
+package es.iesjandula.reaktorissuesserver.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+import es.iesjandula.reaktorissuesserver.dto.IssueEntityDto;
+import es.iesjandula.reaktorissuesserver.models.IssueEntity;
+import es.iesjandula.reaktorissuesserver.utils.Constansts;
+
+class BinaryFormatConfigurationTests {
+
+	private final ObjectMapper cbor = BinaryFormatConfiguration.binaryObjectMapper(new Jackson2ObjectMapperBuilder(), new CBORFactory());
+
+	private final IssueEntity issue = new IssueEntity(1L, "0.5", "profesor@iesjandula.es", LocalDateTime.of(2024, 10, 1, 9, 30),
+			"El proyector no enciende", Constansts.STATUS_IN_PROCESS, null, 2L);
+
+	@Test
+	void statusIsWrittenAsItsCode() throws IOException {
+		JsonNode node = this.cbor.readTree(this.cbor.writeValueAsBytes(this.issue));
+
+		assertEquals(1, node.get("status").intValue());
+		assertEquals(2024, node.get("date").get(0).intValue());
+	}
+
+	@Test
+	void issueRoundTrips() throws IOException {
+		assertEquals(this.issue, this.cbor.readValue(this.cbor.writeValueAsBytes(this.issue), IssueEntity.class));
+	}
+
+	@Test
+	void statusIsReadAsCodeOrText() throws IOException {
+		byte[] withText = this.cbor.writeValueAsBytes(this.cbor.createObjectNode().put("statDto", Constansts.STATUS_FINISHED));
+		byte[] withCode = this.cbor.writeValueAsBytes(this.cbor.createObjectNode().put("statDto", 2));
+
+		assertEquals(Constansts.STATUS_FINISHED, this.cbor.readValue(withText, IssueEntityDto.class).getStatDto());
+		assertEquals(Constansts.STATUS_FINISHED, this.cbor.readValue(withCode, IssueEntityDto.class).getStatDto());
+	}
+
+	@Test
+	void unknownStatusCodeIsRejected() throws IOException {
+		byte[] withCode = this.cbor.writeValueAsBytes(this.cbor.createObjectNode().put("statDto", 9));
+
+		assertThrows(InvalidFormatException.class, () -> this.cbor.readValue(withCode, IssueEntityDto.class));
+	}
+
+}
@@ -0,0 +1,74 @@
+package es.iesjandula.reaktorissuesserver.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+
+class ReplicaRoutingDataSourceTests {
+
+	@Test
+	void readOnlyConnectionsGoToTheReplica() throws Exception {
+		DataSource primary = database("routing_primary");
+		DataSource replica = database("routing_replica");
+
+		try (ReplicaDataSource replicas = replicas(primary, replica)) {
+			ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replicas);
+
+			assertEquals("routing_replica", origin(routing, true));
+			assertEquals("routing_primary", origin(routing, false));
+		}
+	}
+
+	@Test
+	void readOnlyConnectionsFallBackToThePrimaryWithoutReplicas() throws Exception {
+		DataSource primary = database("fallback_primary");
+		JdbcDataSource unreachable = new JdbcDataSource();
+		unreachable.setURL("jdbc:h2:tcp://localhost:1/unreachable");
+
+		try (ReplicaDataSource replicas = replicas(primary, unreachable)) {
+			ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replicas);
+
+			assertEquals("fallback_primary", origin(routing, true));
+		}
+	}
+
+	private static ReplicaDataSource replicas(DataSource primary, DataSource replica) {
+		ReplicaDataSource replicas = new ReplicaDataSource(primary, List.of(new ReplicaDataSource.Replica("replica", replica)),
+				Duration.ofSeconds(5), Duration.ofHours(1));
+		replicas.checkReplicas();
+		return replicas;
+	}
+
+	private static DataSource database(String name) throws SQLException {
+		JdbcDataSource dataSource = new JdbcDataSource();
+		dataSource.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+
+		try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+			statement.execute("CREATE TABLE origin (name VARCHAR(50))");
+			statement.execute("INSERT INTO origin VALUES ('" + name + "')");
+		}
+		return dataSource;
+	}
+
+	private static String origin(DataSource dataSource, boolean readOnly) throws SQLException {
+		try (Connection connection = dataSource.getConnection()) {
+			connection.setReadOnly(readOnly);
+			try (Statement statement = connection.createStatement();
+					ResultSet resultSet = statement.executeQuery("SELECT name FROM origin")) {
+				resultSet.next();
+				return resultSet.getString(1);
+			}
+		}
+	}
+
+}
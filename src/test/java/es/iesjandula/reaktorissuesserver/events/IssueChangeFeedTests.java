@@ -0,0 +1,56 @@
+package es.iesjandula.reaktorissuesserver.events;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+import es.iesjandula.reaktorissuesserver.models.IdIssue;
+import es.iesjandula.reaktorissuesserver.models.IssueEntity;
+import es.iesjandula.reaktorissuesserver.utils.Constansts;
+
+class IssueChangeFeedTests {
+
+	private final IssueEntity created = IssueEntity.builder()
+			.id(1L)
+			.classNumber("0.5")
+			.professorMail("profesor1@iesjandula.es")
+			.date(LocalDateTime.of(2024, 10, 1, 9, 0))
+			.description("Proyector roto")
+			.status(Constansts.STATUS_TO_DO)
+			.build();
+
+	private final IssueEntity inProcess = this.created.toBuilder().status(Constansts.STATUS_IN_PROCESS).version(1L).build();
+
+	@Test
+	void changesOfAPendingCreationAreSentAsACreation() {
+		IssueEvent coalesced = IssueChangeFeed.coalesce(IssueEvent.created(this.created), IssueEvent.statusChanged(this.created, this.inProcess));
+		coalesced = IssueChangeFeed.coalesce(coalesced, IssueEvent.updated(
+				new IdIssue("0.5", "profesor1@iesjandula.es", this.created.getDate()), "Proyector sin imagen"));
+
+		assertEquals(IssueEvent.Type.CREATED, coalesced.getType());
+		assertNull(coalesced.getPrevious());
+		assertEquals(Constansts.STATUS_IN_PROCESS, coalesced.getCurrent().getStatus());
+		assertEquals("Proyector sin imagen", coalesced.getCurrent().getDescription());
+	}
+
+	@Test
+	void aPendingCreationFollowedByADeletionIsNotSent() {
+		IssueEvent coalesced = IssueChangeFeed.coalesce(IssueEvent.created(this.created), IssueEvent.statusChanged(this.created, this.inProcess));
+
+		assertNull(IssueChangeFeed.coalesce(coalesced, IssueEvent.deleted(this.inProcess)));
+	}
+
+	@Test
+	void changesOfAKnownIssueKeepTheLastType() {
+		IssueEvent deleted = IssueEvent.deleted(this.inProcess);
+
+		assertEquals(IssueEvent.Type.STATUS_CHANGED, IssueChangeFeed.coalesce(IssueEvent.updated(this.created, this.created),
+				IssueEvent.statusChanged(this.created, this.inProcess)).getType());
+		assertSame(deleted, IssueChangeFeed.coalesce(IssueEvent.statusChanged(this.created, this.inProcess), deleted));
+	}
+
+}
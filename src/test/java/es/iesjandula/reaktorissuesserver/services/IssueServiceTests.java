@@ -0,0 +1,170 @@
+package es.iesjandula.reaktorissuesserver.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import es.iesjandula.reaktorissuesserver.cache.IssueCache;
+import es.iesjandula.reaktorissuesserver.dedup.IssueDeduplicator;
+import es.iesjandula.reaktorissuesserver.dto.IssueEntityDto;
+import es.iesjandula.reaktorissuesserver.dto.IssueStatusBatchDto;
+import es.iesjandula.reaktorissuesserver.events.IssueEvent;
+import es.iesjandula.reaktorissuesserver.exceptions.ReaktorIssuesServerException;
+import es.iesjandula.reaktorissuesserver.models.IdIssue;
+import es.iesjandula.reaktorissuesserver.models.IssueEntity;
+import es.iesjandula.reaktorissuesserver.repository.IIssueReportRepository;
+import es.iesjandula.reaktorissuesserver.repository.IIssueRepository;
+import es.iesjandula.reaktorissuesserver.utils.Constansts;
+import es.iesjandula.reaktorissuesserver.views.OpenIssueViews;
+
+class IssueServiceTests {
+
+	// Fecha de alta con nanosegundos, como la de ZonedDateTime.now()
+	private static final LocalDateTime CREATED = LocalDateTime.of(2024, 10, 1, 9, 0, 0, 123_456_789);
+
+	// Filas de la tabla issue, con la precisión de DATETIME(6)
+	private final Map<Long, IssueEntity> rows = new ConcurrentHashMap<>();
+
+	private final OpenIssueViews views = new OpenIssueViews();
+
+	private final IssueCache cache = new IssueCache(100, Duration.ofMinutes(5), 100, Duration.ofSeconds(30), false, Duration.ofSeconds(5));
+
+	private final IssueDeduplicator deduplicator = new IssueDeduplicator();
+
+	private final IssueService service = new IssueService();
+
+	private IIssueRepository repository;
+
+	@BeforeEach
+	void setUp() {
+		this.repository = database();
+		ApplicationEventPublisher publisher = event -> {
+			this.cache.onIssueEvent((IssueEvent) event);
+			this.views.onIssueEvent((IssueEvent) event);
+			this.deduplicator.onIssueEvent((IssueEvent) event);
+		};
+
+		ReflectionTestUtils.setField(this.deduplicator, "openIssueViews", this.views);
+		ReflectionTestUtils.setField(this.deduplicator, "iIssueReportRepository", mock(IIssueReportRepository.class));
+		ReflectionTestUtils.setField(this.deduplicator, "enabled", true);
+		ReflectionTestUtils.setField(this.deduplicator, "window", Duration.ofHours(48));
+		ReflectionTestUtils.setField(this.deduplicator, "similarity", 0.6);
+
+		ReflectionTestUtils.setField(this.service, "iIssueRepository", this.repository);
+		ReflectionTestUtils.setField(this.service, "issueCache", this.cache);
+		ReflectionTestUtils.setField(this.service, "eventPublisher", publisher);
+	}
+
+	@Test
+	void statusChangesOfACreatedIssueReplaceItInTheViews() {
+		IssueEntity created = this.service.create(issueDto("El proyector no enciende", CREATED));
+
+		this.service.changeStatus(storedKey(created), Constansts.STATUS_IN_PROCESS, null);
+
+		List<IssueEntity> open = this.views.byClassroom("0.5");
+		assertEquals(1, open.size());
+		assertEquals(Constansts.STATUS_IN_PROCESS, open.get(0).getStatus());
+
+		this.service.changeStatus(storedKey(created), Constansts.STATUS_CANCELED, null);
+
+		assertTrue(this.views.byClassroom("0.5").isEmpty());
+		assertTrue(this.views.byProfessor("profesor1@iesjandula.es").isEmpty());
+	}
+
+	@Test
+	void reportsOfAFinishedIssueAreNotDuplicates() {
+		IssueEntity created = this.service.create(issueDto("Proyector roto", CREATED));
+		this.service.changeStatus(storedKey(created), Constansts.STATUS_IN_PROCESS, null);
+		this.service.changeStatus(storedKey(created), Constansts.STATUS_FINISHED, null);
+
+		assertTrue(this.deduplicator.findDuplicate(issueDto("Proyector roto", CREATED.plusHours(1))).isEmpty());
+	}
+
+	@Test
+	void statusChangesWithoutAStatusAreInvalid() {
+		IssueEntity created = this.service.create(issueDto("El proyector no enciende", CREATED));
+
+		assertSame(ReaktorIssuesServerException.INVALID_VALUES,
+				assertThrows(ReaktorIssuesServerException.class, () -> this.service.changeStatus(storedKey(created), null, null)));
+	}
+
+	@Test
+	void batchesWithoutAStatusAreInvalidBeforeLookingUpIssues() {
+		IssueStatusBatchDto batch = new IssueStatusBatchDto(null, new IssueEntityDto(), null);
+
+		assertSame(ReaktorIssuesServerException.INVALID_VALUES,
+				assertThrows(ReaktorIssuesServerException.class, () -> this.service.changeStatusAll(batch)));
+		verify(this.repository, never()).findPageByFilters(any(), any(), anyInt());
+	}
+
+	/**
+	 * Clave natural de la incidencia tal como la lee un cliente de la base de datos.
+	 */
+	private IdIssue storedKey(IssueEntity issue) {
+		IssueEntity row = this.rows.get(issue.getId());
+		return new IdIssue(row.getClassNumber(), row.getProfessorMail(), row.getDate());
+	}
+
+	private static IssueEntityDto issueDto(String description, LocalDateTime date) {
+		return new IssueEntityDto("0.5", "profesor1@iesjandula.es", date, description, Constansts.STATUS_TO_DO);
+	}
+
+	/**
+	 * Repositorio que guarda las filas en memoria con la precisión de la columna date (DATETIME(6)).
+	 * Como Hibernate, la inserción devuelve la misma instancia con su identificador.
+	 */
+	private IIssueRepository database() {
+		IIssueRepository repository = mock(IIssueRepository.class, CALLS_REAL_METHODS);
+
+		doAnswer(invocation -> {
+			IssueEntity issue = invocation.getArgument(0);
+			issue.setId((long) this.rows.size() + 1);
+			this.rows.put(issue.getId(), issue.toBuilder().date(issue.getDate().truncatedTo(ChronoUnit.MICROS)).build());
+			return issue;
+		}).when(repository).saveAndFlush(any(IssueEntity.class));
+
+		doAnswer(invocation -> this.rows.values().stream()
+				.filter(row -> row.getClassNumber().equals(invocation.getArgument(0))
+						&& row.getProfessorMail().equals(invocation.getArgument(1))
+						&& row.getDate().equals(invocation.getArgument(2)))
+				.findFirst()
+				.map(row -> row.toBuilder().build()))
+				.when(repository).findByClassNumberAndProfessorMailAndDate(anyString(), anyString(), any(LocalDateTime.class));
+
+		doAnswer(invocation -> {
+			IssueEntity row = this.rows.get(invocation.getArgument(0, Long.class));
+			if (row == null || row.getVersion() != invocation.getArgument(3, Long.class)) {
+				return 0;
+			}
+			row.setStatus(invocation.getArgument(1));
+			row.setFinishDate(invocation.getArgument(2));
+			row.setVersion(row.getVersion() + 1);
+			return 1;
+		}).when(repository).compareAndSetStatus(anyLong(), anyString(), any(), anyLong());
+
+		return repository;
+	}
+
+}
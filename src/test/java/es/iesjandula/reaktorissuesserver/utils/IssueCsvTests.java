@@ -0,0 +1,81 @@
+package es.iesjandula.reaktorissuesserver.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+import es.iesjandula.reaktorissuesserver.dto.IssueEntityDto;
+import es.iesjandula.reaktorissuesserver.exceptions.ReaktorIssuesServerException;
+import es.iesjandula.reaktorissuesserver.models.IssueEntity;
+
+class IssueCsvTests {
+
+	private static final LocalDateTime DATE = LocalDateTime.of(2024, 10, 1, 9, 0, 0, 123_456_000);
+
+	@Test
+	void multilineDescriptionsSurviveExportAndImport() throws Exception {
+		IssueEntity first = issue("El proyector no enciende,\r\ny el \"mando\" tampoco\nfunciona");
+		IssueEntity second = issue("Falta una silla");
+
+		BufferedReader reader = new BufferedReader(new StringReader(
+				IssueCsv.HEADER + "\r\n" + IssueCsv.format(first) + "\n" + IssueCsv.format(second) + "\n"));
+
+		assertEquals(IssueCsv.HEADER, IssueCsv.readRecord(reader));
+		assertRoundTrip(first, IssueCsv.parse(IssueCsv.readRecord(reader)));
+		assertRoundTrip(second, IssueCsv.parse(IssueCsv.readRecord(reader)));
+		assertNull(IssueCsv.readRecord(reader));
+	}
+
+	@Test
+	void lastRecordWithoutLineBreakIsRead() throws IOException {
+		BufferedReader reader = new BufferedReader(new StringReader("a,b\n\nc,d"));
+
+		assertEquals("a,b", IssueCsv.readRecord(reader));
+		assertEquals("", IssueCsv.readRecord(reader));
+		assertEquals("c,d", IssueCsv.readRecord(reader));
+		assertNull(IssueCsv.readRecord(reader));
+	}
+
+	@Test
+	void emptyColumnsAreNull() throws ReaktorIssuesServerException {
+		IssueEntityDto issueDto = IssueCsv.parse("0.5,profesor1@iesjandula.es,,Proyector roto,");
+
+		assertNull(issueDto.getDateDto());
+		assertNull(issueDto.getStatDto());
+	}
+
+	@Test
+	void recordsWithWrongColumnsOrDatesAreInvalid() {
+		assertSame(ReaktorIssuesServerException.INVALID_VALUES,
+				assertThrows(ReaktorIssuesServerException.class, () -> IssueCsv.parse("0.5,profesor1@iesjandula.es")));
+		assertSame(ReaktorIssuesServerException.INVALID_VALUES,
+				assertThrows(ReaktorIssuesServerException.class, () -> IssueCsv.parse("0.5,profesor1@iesjandula.es,ayer,Proyector roto,To do")));
+	}
+
+	private static IssueEntity issue(String description) {
+		return IssueEntity.builder()
+				.classNumber("0.5")
+				.professorMail("profesor1@iesjandula.es")
+				.date(DATE)
+				.description(description)
+				.status(Constansts.STATUS_TO_DO)
+				.build();
+	}
+
+	private static void assertRoundTrip(IssueEntity expected, IssueEntityDto actual) {
+		assertEquals(expected.getClassNumber(), actual.getClassNumDto());
+		assertEquals(expected.getProfessorMail(), actual.getProfMailDto());
+		assertEquals(expected.getDate(), actual.getDateDto());
+		assertEquals(expected.getDescription(), actual.getDescDto());
+		assertEquals(expected.getStatus(), actual.getStatDto());
+	}
+
+}
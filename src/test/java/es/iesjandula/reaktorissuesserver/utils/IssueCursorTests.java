@@ -0,0 +1,40 @@
+package es.iesjandula.reaktorissuesserver.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+import es.iesjandula.reaktorissuesserver.exceptions.ReaktorIssuesServerException;
+import es.iesjandula.reaktorissuesserver.models.IdIssue;
+import es.iesjandula.reaktorissuesserver.models.IssueEntity;
+
+class IssueCursorTests {
+
+	private final IssueEntity issue = IssueEntity.builder()
+			.classNumber("Aula de Informática 1")
+			.professorMail("profesor1@iesjandula.es")
+			.date(LocalDateTime.of(2024, 10, 1, 9, 0, 0, 123_456_000))
+			.build();
+
+	@Test
+	void cursorDecodesToTheLastPosition() throws ReaktorIssuesServerException {
+		IdIssue position = IssueCursor.decode(IssueCursor.encode(this.issue));
+
+		assertEquals(new IdIssue(this.issue.getClassNumber(), this.issue.getProfessorMail(), this.issue.getDate()), position);
+	}
+
+	@Test
+	void tamperedOrTruncatedCursorsAreInvalid() {
+		String cursor = IssueCursor.encode(this.issue);
+
+		assertSame(ReaktorIssuesServerException.INVALID_CURSOR,
+				assertThrows(ReaktorIssuesServerException.class, () -> IssueCursor.decode("no es un cursor")));
+		assertSame(ReaktorIssuesServerException.INVALID_CURSOR,
+				assertThrows(ReaktorIssuesServerException.class, () -> IssueCursor.decode(cursor.substring(0, cursor.length() / 2))));
+	}
+
+}
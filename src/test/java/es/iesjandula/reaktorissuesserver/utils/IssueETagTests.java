@@ -0,0 +1,29 @@
+package es.iesjandula.reaktorissuesserver.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import es.iesjandula.reaktorissuesserver.models.IssueEntity;
+
+class IssueETagTests {
+
+	private final IssueEntity issue = IssueEntity.builder().id(7L).version(3L).build();
+
+	@Test
+	void etagContainsIdAndVersion() {
+		assertEquals("\"7.3\"", IssueETag.of(this.issue));
+	}
+
+	@Test
+	void matchesCurrentVersionOrWildcard() {
+		assertTrue(IssueETag.matches(null, this.issue));
+		assertTrue(IssueETag.matches("*", this.issue));
+		assertTrue(IssueETag.matches("\"7.2\", \"7.3\"", this.issue));
+		assertFalse(IssueETag.matches("\"7.2\"", this.issue));
+		assertFalse(IssueETag.matches("W/\"7.3\"", this.issue));
+	}
+
+}
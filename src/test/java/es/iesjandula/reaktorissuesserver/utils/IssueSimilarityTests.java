@@ -0,0 +1,39 @@
+package es.iesjandula.reaktorissuesserver.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class IssueSimilarityTests {
+
+	@Test
+	void tokensIgnoreCaseAccentsAndStopwords() {
+		assertEquals(Set.of("proyector", "enciende"), IssueSimilarity.tokens("El PROYECTOR no se enciénde en la clase"));
+	}
+
+	@Test
+	void sameWordsInAnotherOrderAreIdentical() {
+		double similarity = IssueSimilarity.jaccard(IssueSimilarity.tokens("Proyector no enciende"),
+				IssueSimilarity.tokens("no enciende el proyector"));
+
+		assertEquals(1.0, similarity);
+	}
+
+	@Test
+	void differentDescriptionsAreNotSimilar() {
+		double similarity = IssueSimilarity.jaccard(IssueSimilarity.tokens("El proyector no enciende"),
+				IssueSimilarity.tokens("Falta una silla junto a la ventana"));
+
+		assertEquals(0.0, similarity);
+	}
+
+	@Test
+	void emptyDescriptionIsNeverSimilar() {
+		assertEquals(0.0, IssueSimilarity.jaccard(IssueSimilarity.tokens(null), IssueSimilarity.tokens("proyector")));
+		assertTrue(IssueSimilarity.tokens("  ").isEmpty());
+	}
+
+}
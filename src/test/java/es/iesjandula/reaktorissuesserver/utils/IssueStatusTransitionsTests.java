@@ -0,0 +1,47 @@
+package es.iesjandula.reaktorissuesserver.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class IssueStatusTransitionsTests {
+
+	@Test
+	void allowsTransitionsOfTheStateMachine() {
+		assertTrue(IssueStatusTransitions.isAllowed(Constansts.STATUS_TO_DO, Constansts.STATUS_IN_PROCESS));
+		assertTrue(IssueStatusTransitions.isAllowed(Constansts.STATUS_IN_PROCESS, Constansts.STATUS_FINISHED));
+		assertTrue(IssueStatusTransitions.isAllowed(Constansts.STATUS_CANCELED, Constansts.STATUS_TO_DO));
+		assertFalse(IssueStatusTransitions.isAllowed(Constansts.STATUS_TO_DO, Constansts.STATUS_FINISHED));
+		assertFalse(IssueStatusTransitions.isAllowed(Constansts.STATUS_FINISHED, Constansts.STATUS_CANCELED));
+	}
+
+	@Test
+	void sourcesAreTheInverseOfTransitions() {
+		assertEquals(Set.of(Constansts.STATUS_IN_PROCESS), IssueStatusTransitions.sourcesOf(Constansts.STATUS_FINISHED));
+		assertEquals(Set.of(Constansts.STATUS_IN_PROCESS, Constansts.STATUS_FINISHED, Constansts.STATUS_CANCELED),
+				IssueStatusTransitions.sourcesOf(Constansts.STATUS_TO_DO));
+		assertTrue(IssueStatusTransitions.sourcesOf("Unknown").isEmpty());
+	}
+
+	@Test
+	void missingStatusesAreNeverAllowed() {
+		assertFalse(IssueStatusTransitions.isAllowed(null, Constansts.STATUS_TO_DO));
+		assertFalse(IssueStatusTransitions.isAllowed(Constansts.STATUS_TO_DO, null));
+		assertTrue(IssueStatusTransitions.sourcesOf(null).isEmpty());
+	}
+
+	@Test
+	void onlyFinishedIssuesHaveAFinishDate() {
+		LocalDateTime now = LocalDateTime.of(2024, 10, 1, 9, 0);
+
+		assertEquals(now, IssueStatusTransitions.finishDate(Constansts.STATUS_FINISHED, now));
+		assertNull(IssueStatusTransitions.finishDate(Constansts.STATUS_TO_DO, now));
+	}
+
+}
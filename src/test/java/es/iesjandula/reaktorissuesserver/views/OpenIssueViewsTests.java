@@ -0,0 +1,94 @@
+package es.iesjandula.reaktorissuesserver.views;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import es.iesjandula.reaktorissuesserver.events.IssueEvent;
+import es.iesjandula.reaktorissuesserver.models.IdIssue;
+import es.iesjandula.reaktorissuesserver.models.IssueEntity;
+import es.iesjandula.reaktorissuesserver.utils.Constansts;
+
+class OpenIssueViewsTests {
+
+	private final OpenIssueViews views = new OpenIssueViews();
+
+	private final IssueEntity older = issue(1L, "profesor1@iesjandula.es", LocalDateTime.of(2024, 10, 1, 9, 0));
+
+	private final IssueEntity newer = issue(2L, "profesor2@iesjandula.es", LocalDateTime.of(2024, 10, 2, 9, 0));
+
+	@Test
+	void createdIssuesAreListedNewestFirst() {
+		this.views.onIssueEvent(IssueEvent.created(this.older));
+		this.views.onIssueEvent(IssueEvent.created(this.newer));
+
+		assertEquals(List.of(this.newer, this.older), this.views.byClassroom("0.5"));
+		assertEquals(List.of(this.older), this.views.byProfessor("profesor1@iesjandula.es"));
+	}
+
+	@Test
+	void closedIssuesLeaveAndReopenedIssuesReturn() {
+		this.views.onIssueEvent(IssueEvent.created(this.older));
+
+		IssueEntity finished = this.older.toBuilder().status(Constansts.STATUS_FINISHED).version(1L).build();
+		this.views.onIssueEvent(IssueEvent.statusChanged(this.older, finished));
+		assertTrue(this.views.byClassroom("0.5").isEmpty());
+		assertTrue(this.views.byProfessor("profesor1@iesjandula.es").isEmpty());
+
+		IssueEntity reopened = finished.toBuilder().status(Constansts.STATUS_TO_DO).version(2L).build();
+		this.views.onIssueEvent(IssueEvent.statusChanged(finished, reopened));
+		assertEquals(List.of(reopened), this.views.byClassroom("0.5"));
+	}
+
+	@Test
+	void statusChangesArrivingOutOfOrderDoNotReopenTheIssue() {
+		this.views.onIssueEvent(IssueEvent.created(this.older));
+
+		IssueEntity inProcess = this.older.toBuilder().status(Constansts.STATUS_IN_PROCESS).version(1L).build();
+		IssueEntity finished = inProcess.toBuilder().status(Constansts.STATUS_FINISHED).version(2L).build();
+		this.views.onIssueEvent(IssueEvent.statusChanged(inProcess, finished));
+		this.views.onIssueEvent(IssueEvent.statusChanged(this.older, inProcess));
+
+		assertTrue(this.views.byClassroom("0.5").isEmpty());
+		assertTrue(this.views.byProfessor("profesor1@iesjandula.es").isEmpty());
+	}
+
+	@Test
+	void olderChangesOfAnOpenIssueAreDiscarded() {
+		IssueEntity inProcess = this.older.toBuilder().status(Constansts.STATUS_IN_PROCESS).version(1L).build();
+		this.views.onIssueEvent(IssueEvent.statusChanged(this.older, inProcess));
+		this.views.onIssueEvent(IssueEvent.created(this.older));
+
+		assertEquals(List.of(inProcess), this.views.byClassroom("0.5"));
+	}
+
+	@Test
+	void descriptionOnlyUpdatesKeepTheIssue() {
+		this.views.onIssueEvent(IssueEvent.created(this.older));
+
+		IdIssue idIssue = new IdIssue("0.5", "profesor1@iesjandula.es", this.older.getDate());
+		this.views.onIssueEvent(IssueEvent.updated(idIssue, "Sigue sin encender"));
+
+		IssueEntity updated = this.views.byClassroom("0.5").get(0);
+		assertEquals("Sigue sin encender", updated.getDescription());
+		assertEquals(Constansts.STATUS_TO_DO, updated.getStatus());
+		assertEquals(1L, updated.getVersion());
+	}
+
+	@Test
+	void deletedIssuesLeave() {
+		this.views.onIssueEvent(IssueEvent.created(this.older));
+		this.views.onIssueEvent(IssueEvent.deleted(this.older));
+
+		assertTrue(this.views.byClassroom("0.5").isEmpty());
+	}
+
+	private static IssueEntity issue(Long id, String professorMail, LocalDateTime date) {
+		return new IssueEntity(id, "0.5", professorMail, date, "El proyector no enciende", Constansts.STATUS_TO_DO, null, 0L);
+	}
+
+}